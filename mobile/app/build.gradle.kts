@@ -16,6 +16,15 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        val httpBodyLogging = providers.gradleProperty("yakudza.httpBodyLogging").orNull ?: "false"
+        buildConfigField("boolean", "HTTP_BODY_LOGGING", httpBodyLogging)
+        val apiBaseUrl = providers.gradleProperty("yakudza.apiBaseUrl").orNull ?: "http://kpakozz96pyc.xyz:8447/api/"
+        buildConfigField("String", "API_BASE_URL", "\"$apiBaseUrl\"")
+        val http2PriorKnowledge = providers.gradleProperty("yakudza.http2PriorKnowledge").orNull ?: "false"
+        buildConfigField("boolean", "HTTP2_PRIOR_KNOWLEDGE", http2PriorKnowledge)
+        val imageStoreMegabytes = providers.gradleProperty("yakudza.imageStoreMegabytes").orNull ?: "150"
+        buildConfigField("long", "IMAGE_STORE_MAX_BYTES", "${imageStoreMegabytes}L * 1024 * 1024")
     }
 
     buildTypes {
@@ -33,6 +42,15 @@ android {
     }
     buildFeatures {
         viewBinding = true
+        buildConfig = true
+    }
+    testOptions {
+        unitTests.all {
+            val benchmarks = providers.gradleProperty("yakudza.benchmarks").orNull ?: "false"
+            it.systemProperty("yakudza.benchmarks", benchmarks)
+            // Benchmarks print their timings instead of asserting them
+            it.testLogging.showStandardStreams = benchmarks.toBoolean()
+        }
     }
 }
 
@@ -59,6 +77,10 @@ dependencies {
 
     // Glide
     implementation(libs.glide)
+    implementation(libs.glide.okhttp3)
+    implementation(libs.glide.recyclerview) {
+        isTransitive = false
+    }
     annotationProcessor(libs.glide.compiler)
 
     testImplementation(libs.junit)
@@ -0,0 +1,98 @@
+package com.example.yakudza_docs_mobile;
+
+import android.content.Context;
+
+import com.example.yakudza_docs_mobile.data.api.ApiService;
+import com.example.yakudza_docs_mobile.data.api.DeferredApiService;
+import com.example.yakudza_docs_mobile.data.api.RetrofitClient;
+import com.example.yakudza_docs_mobile.data.auth.TokenManager;
+import com.example.yakudza_docs_mobile.data.image.DishImageStore;
+import com.example.yakudza_docs_mobile.data.local.DishLocalStore;
+import com.example.yakudza_docs_mobile.data.repository.AuthRepository;
+import com.example.yakudza_docs_mobile.data.repository.DishRepository;
+import com.example.yakudza_docs_mobile.data.store.DishEntityStore;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import okhttp3.Call;
+
+// Builds the token store and the Retrofit/OkHttp graph on background threads as
+// soon as the process starts. Repositories get a DeferredApiService and the token
+// future, so building them on the main thread never waits for either.
+public class AppContainer {
+    private final Context context;
+    private final ExecutorService startupExecutor = Executors.newFixedThreadPool(2);
+    private final CompletableFuture<TokenManager> tokenManager;
+    private final CompletableFuture<RetrofitClient> network;
+    private final ApiService apiService;
+    private final DishEntityStore entityStore = new DishEntityStore();
+
+    private DishRepository dishRepository;
+    private AuthRepository authRepository;
+    private DishImageStore dishImageStore;
+
+    AppContainer(Context context) {
+        this.context = context.getApplicationContext();
+
+        this.tokenManager = CompletableFuture.supplyAsync(() -> {
+            TokenManager manager = new TokenManager(this.context);
+            manager.hasToken();
+            StartupTrace.mark("token_store_ready");
+            return manager;
+        }, startupExecutor);
+
+        this.network = tokenManager.thenApplyAsync(manager -> {
+            RetrofitClient client = RetrofitClient.getInstance(this.context, manager);
+            StartupTrace.mark("network_graph_ready");
+            client.prewarm();
+            return client;
+        }, startupExecutor);
+
+        this.apiService = DeferredApiService.create(network.thenApply(RetrofitClient::getApiService),
+                this.context.getMainExecutor());
+    }
+
+    public static AppContainer from(Context context) {
+        return ((YakudzaApplication) context.getApplicationContext()).getContainer();
+    }
+
+    public void checkLoggedIn(Consumer<Boolean> callback) {
+        tokenManager.thenAcceptAsync(manager -> callback.accept(manager.hasToken()),
+                context.getMainExecutor());
+    }
+
+    public ApiService apiService() {
+        return apiService;
+    }
+
+    // Only Glide's source threads create calls through this, so waiting here is
+    // off the main thread.
+    public Call.Factory callFactory() {
+        return network.join().getCallFactory();
+    }
+
+    public synchronized DishRepository dishRepository() {
+        if (dishRepository == null) {
+            dishRepository = new DishRepository(apiService, DishLocalStore.getInstance(context), entityStore,
+                    dishImageStore());
+        }
+        return dishRepository;
+    }
+
+    public synchronized DishImageStore dishImageStore() {
+        if (dishImageStore == null) {
+            dishImageStore = new DishImageStore(context, BuildConfig.IMAGE_STORE_MAX_BYTES, this::apiService);
+        }
+        return dishImageStore;
+    }
+
+    public synchronized AuthRepository authRepository() {
+        if (authRepository == null) {
+            authRepository = new AuthRepository(apiService, tokenManager);
+        }
+        return authRepository;
+    }
+}
@@ -6,12 +6,14 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import android.view.View;
 
+import android.view.ViewTreeObserver;
+
 import androidx.navigation.NavController;
+import androidx.navigation.NavGraph;
 import androidx.navigation.Navigation;
 import androidx.navigation.ui.AppBarConfiguration;
 import androidx.navigation.ui.NavigationUI;
 
-import com.example.yakudza_docs_mobile.data.repository.AuthRepository;
 import com.example.yakudza_docs_mobile.databinding.ActivityMainBinding;
 
 import android.view.Menu;
@@ -21,28 +23,47 @@ public class MainActivity extends AppCompatActivity {
 
     private AppBarConfiguration appBarConfiguration;
     private ActivityMainBinding binding;
-    private AuthRepository authRepository;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        StartupTrace.mark("activity_create");
 
         binding = ActivityMainBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
         setSupportActionBar(binding.toolbar);
 
-        authRepository = new AuthRepository(this);
+        binding.fab.setVisibility(View.GONE);
+        markFirstFrame();
+
+        AppContainer.from(this).checkLoggedIn(this::setUpNavigation);
+    }
 
+    private void setUpNavigation(boolean loggedIn) {
+        if (isDestroyed()) {
+            return;
+        }
         NavController navController = Navigation.findNavController(this, R.id.nav_host_fragment_content_main);
-        appBarConfiguration = new AppBarConfiguration.Builder(navController.getGraph()).build();
-        NavigationUI.setupActionBarWithNavController(this, navController, appBarConfiguration);
+        NavGraph graph = navController.getNavInflater().inflate(R.navigation.nav_graph);
+        graph.setStartDestination(loggedIn ? R.id.dishFeedFragment : R.id.loginFragment);
+        navController.setGraph(graph);
+        StartupTrace.mark("start_destination");
 
-        binding.fab.setVisibility(View.GONE);
+        appBarConfiguration = new AppBarConfiguration.Builder(R.id.loginFragment, R.id.dishFeedFragment).build();
+        NavigationUI.setupActionBarWithNavController(this, navController, appBarConfiguration);
+    }
 
-        if (authRepository.isLoggedIn()) {
-            navController.navigate(R.id.dishFeedFragment);
-        }
+    private void markFirstFrame() {
+        View root = binding.getRoot();
+        root.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                root.getViewTreeObserver().removeOnPreDrawListener(this);
+                StartupTrace.mark("first_frame");
+                return true;
+            }
+        });
     }
 
     @Override
@@ -69,6 +90,9 @@ public class MainActivity extends AppCompatActivity {
 
     @Override
     public boolean onSupportNavigateUp() {
+        if (appBarConfiguration == null) {
+            return super.onSupportNavigateUp();
+        }
         NavController navController = Navigation.findNavController(this, R.id.nav_host_fragment_content_main);
         return NavigationUI.navigateUp(navController, appBarConfiguration)
                 || super.onSupportNavigateUp();
@@ -0,0 +1,34 @@
+package com.example.yakudza_docs_mobile;
+
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+public final class StartupTrace {
+    private static final String TAG = "StartupTrace";
+    private static final Map<String, Long> phases = new LinkedHashMap<>();
+
+    private StartupTrace() {
+    }
+
+    public static synchronized void mark(String phase) {
+        if (phases.containsKey(phase)) {
+            return;
+        }
+        long sinceProcessStart = SystemClock.elapsedRealtime() - Process.getStartElapsedRealtime();
+        phases.put(phase, sinceProcessStart);
+        Log.i(TAG, phase + " +" + sinceProcessStart + "ms");
+    }
+
+    public static synchronized String summary() {
+        StringBuilder summary = new StringBuilder();
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            summary.append(String.format(Locale.ROOT, "  %-20s +%dms%n", phase.getKey(), phase.getValue()));
+        }
+        return summary.toString();
+    }
+}
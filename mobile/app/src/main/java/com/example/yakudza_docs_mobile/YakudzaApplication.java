@@ -0,0 +1,18 @@
+package com.example.yakudza_docs_mobile;
+
+import android.app.Application;
+
+public class YakudzaApplication extends Application {
+    private AppContainer container;
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        StartupTrace.mark("application_create");
+        container = new AppContainer(this);
+    }
+
+    public AppContainer getContainer() {
+        return container;
+    }
+}
@@ -1,32 +1,67 @@
 package com.example.yakudza_docs_mobile.data.api;
 
+import com.example.yakudza_docs_mobile.data.api.cbor.CborConverterFactory;
+import com.example.yakudza_docs_mobile.data.api.scheduling.RequestPriority;
+import com.example.yakudza_docs_mobile.data.model.DishChanges;
 import com.example.yakudza_docs_mobile.data.model.DishDetail;
 import com.example.yakudza_docs_mobile.data.model.DishesResponse;
 import com.example.yakudza_docs_mobile.data.model.LoginRequest;
 import com.example.yakudza_docs_mobile.data.model.LoginResponse;
 
+import java.util.List;
+
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.HEAD;
+import retrofit2.http.Headers;
 import retrofit2.http.POST;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+import retrofit2.http.Tag;
 
 public interface ApiService {
     @POST("auth/login")
     Call<LoginResponse> login(@Body LoginRequest request);
 
-    @GET("dishes")
-    Call<DishesResponse> getDishes(
-            @Query("page") int page,
+    @RequiresAuth
+    @POST("auth/refresh")
+    Call<LoginResponse> refreshToken(@Tag RequestPriority priority);
+
+    @HEAD("ping")
+    Call<Void> ping(@Tag RequestPriority priority);
+
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
+    @GET("dishes/feed")
+    Call<DishesResponse> getDishFeed(
+            @Query("cursor") String cursor,
             @Query("pageSize") int pageSize,
-            @Query("search") String search
+            @Query("search") String search,
+            @Tag RequestPriority priority
     );
 
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
     @GET("dishes/{id}")
-    Call<DishDetail> getDishDetail(@Path("id") int dishId);
+    Call<DishDetail> getDishDetail(@Path("id") int dishId, @Tag RequestPriority priority);
+
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
+    @GET("dishes/batch")
+    Call<List<DishDetail>> getDishDetails(@Query("ids") List<Integer> dishIds, @Tag RequestPriority priority);
+
+    @Headers(CborConverterFactory.ACCEPT_CBOR)
+    @GET("dishes/changes")
+    Call<DishChanges> getDishChanges(
+            @Query("since") String syncToken,
+            @Query("limit") int limit,
+            @Tag RequestPriority priority
+    );
 
+    // DishImageStore is the cache for these; keep them out of the OkHttp cache, and
+    // stream them to disk instead of buffering megabytes in memory first.
+    @Headers("Cache-Control: no-store")
+    @Streaming
     @GET("dishes/{id}/image")
-    Call<ResponseBody> getDishImage(@Path("id") int dishId);
+    Call<ResponseBody> getDishImage(@Path("id") int dishId, @Tag RequestPriority priority);
 }
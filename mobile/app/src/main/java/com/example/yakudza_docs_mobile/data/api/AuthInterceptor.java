@@ -1,18 +1,24 @@
 package com.example.yakudza_docs_mobile.data.api;
 
 import com.example.yakudza_docs_mobile.data.auth.TokenManager;
+import com.example.yakudza_docs_mobile.data.auth.TokenRefresher;
 
 import java.io.IOException;
 
 import okhttp3.Interceptor;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Invocation;
 
 public class AuthInterceptor implements Interceptor {
     private final TokenManager tokenManager;
+    private final TokenRefresher tokenRefresher;
 
-    public AuthInterceptor(TokenManager tokenManager) {
+    public AuthInterceptor(TokenManager tokenManager, TokenRefresher tokenRefresher) {
         this.tokenManager = tokenManager;
+        this.tokenRefresher = tokenRefresher;
     }
 
     @Override
@@ -21,13 +27,33 @@ public class AuthInterceptor implements Interceptor {
 
         String token = tokenManager.getToken();
         if (token == null) {
+            if (requiresAuth(originalRequest)) {
+                return unauthorized(originalRequest);
+            }
             return chain.proceed(originalRequest);
         }
 
+        tokenRefresher.refreshIfDue();
+
         Request authenticatedRequest = originalRequest.newBuilder()
                 .header("Authorization", "Bearer " + token)
                 .build();
 
         return chain.proceed(authenticatedRequest);
     }
+
+    private static boolean requiresAuth(Request request) {
+        Invocation invocation = request.tag(Invocation.class);
+        return invocation != null && invocation.method().isAnnotationPresent(RequiresAuth.class);
+    }
+
+    private static Response unauthorized(Request request) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(401)
+                .message("Token missing or expired")
+                .body(ResponseBody.create("", null))
+                .build();
+    }
 }
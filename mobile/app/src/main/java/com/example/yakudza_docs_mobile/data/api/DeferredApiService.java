@@ -0,0 +1,56 @@
+package com.example.yakudza_docs_mobile.data.api;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import retrofit2.Call;
+
+// An ApiService that can be handed out before Retrofit has been built. While the
+// real service is still being created, each method returns a DeferredCall that
+// is created and enqueued on the real service once it is ready, so callers on the
+// main thread never wait for the network graph.
+public final class DeferredApiService {
+    private DeferredApiService() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static ApiService create(CompletableFuture<ApiService> service, Executor callbackExecutor) {
+        return (ApiService) Proxy.newProxyInstance(ApiService.class.getClassLoader(),
+                new Class<?>[]{ApiService.class}, (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return objectMethod(proxy, method, args);
+                    }
+                    if (service.isDone() && !service.isCompletedExceptionally()) {
+                        return invoke(service.join(), method, args);
+                    }
+                    return new DeferredCall<>(service.thenApply(api -> (Call<Object>) invoke(api, method, args)),
+                            callbackExecutor);
+                });
+    }
+
+    private static Object invoke(ApiService service, Method method, Object[] args) {
+        try {
+            return method.invoke(service, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object objectMethod(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return "DeferredApiService";
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.yakudza_docs_mobile.data.api;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+// A Retrofit call whose real call is still being created. enqueue() never blocks;
+// execute() and request() wait for the real call and belong on background threads.
+class DeferredCall<T> implements Call<T> {
+    private final CompletableFuture<Call<T>> delegate;
+    private final Executor callbackExecutor;
+    private boolean executed;
+    private volatile boolean canceled;
+
+    DeferredCall(CompletableFuture<Call<T>> delegate, Executor callbackExecutor) {
+        this.delegate = delegate;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        markExecuted();
+        Call<T> call;
+        try {
+            call = delegate.join();
+        } catch (CompletionException e) {
+            throw new IOException("Network client unavailable", e.getCause());
+        }
+        if (canceled) {
+            call.cancel();
+        }
+        return call.execute();
+    }
+
+    @Override
+    public void enqueue(Callback<T> callback) {
+        markExecuted();
+        // Failures to build the client are reported on the same executor Retrofit
+        // uses for callbacks, the main thread.
+        delegate.whenCompleteAsync((call, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                callback.onFailure(this, new IOException("Network client unavailable", cause));
+                return;
+            }
+            if (canceled) {
+                call.cancel();
+            }
+            call.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> ignored, Response<T> response) {
+                    callback.onResponse(DeferredCall.this, response);
+                }
+
+                @Override
+                public void onFailure(Call<T> ignored, Throwable t) {
+                    callback.onFailure(DeferredCall.this, t);
+                }
+            });
+        }, callbackExecutor);
+    }
+
+    private synchronized void markExecuted() {
+        if (executed) {
+            throw new IllegalStateException("Already executed.");
+        }
+        executed = true;
+    }
+
+    @Override
+    public synchronized boolean isExecuted() {
+        return executed;
+    }
+
+    @Override
+    public void cancel() {
+        canceled = true;
+        Call<T> call = readyOrNull();
+        if (call != null) {
+            call.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new DeferredCall<>(delegate.thenApply(Call::clone), callbackExecutor);
+    }
+
+    @Override
+    public Request request() {
+        return delegate.join().request();
+    }
+
+    @Override
+    public Timeout timeout() {
+        Call<T> call = readyOrNull();
+        return call != null ? call.timeout() : Timeout.NONE;
+    }
+
+    private Call<T> readyOrNull() {
+        return delegate.isDone() && !delegate.isCompletedExceptionally() ? delegate.join() : null;
+    }
+}
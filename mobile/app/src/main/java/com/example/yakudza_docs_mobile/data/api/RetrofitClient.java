@@ -1,38 +1,90 @@
 package com.example.yakudza_docs_mobile.data.api;
 
+import android.content.Context;
+
+import com.example.yakudza_docs_mobile.BuildConfig;
+import com.example.yakudza_docs_mobile.StartupTrace;
+import com.example.yakudza_docs_mobile.data.api.cbor.CborConverterFactory;
+import com.example.yakudza_docs_mobile.data.api.json.DishJson;
+import com.example.yakudza_docs_mobile.data.api.metrics.MetricsEventListener;
+import com.example.yakudza_docs_mobile.data.api.scheduling.RequestPriority;
+import com.example.yakudza_docs_mobile.data.api.scheduling.RequestScheduler;
 import com.example.yakudza_docs_mobile.data.auth.TokenManager;
+import com.example.yakudza_docs_mobile.data.auth.TokenRefresher;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.logging.HttpLoggingInterceptor;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 public class RetrofitClient {
-    private static final String BASE_URL = "http://kpakozz96pyc.xyz:8447/api/";
+    private static final String BASE_URL = BuildConfig.API_BASE_URL;
+    private static final String HTTP_CACHE_DIR = "http_cache";
+    private static final long HTTP_CACHE_SIZE_BYTES = 50L * 1024 * 1024;
+    private static final long IDLE_CONNECTION_KEEP_ALIVE_SECONDS = 100;
+    private static final long HTTP2_PING_INTERVAL_SECONDS = 30;
     private static RetrofitClient instance;
     private final ApiService apiService;
+    private final okhttp3.Call.Factory callFactory;
 
-    private RetrofitClient(TokenManager tokenManager) {
+    private RetrofitClient(Context context, TokenManager tokenManager) {
         HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
-        loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+        loggingInterceptor.setLevel(BuildConfig.HTTP_BODY_LOGGING
+                ? HttpLoggingInterceptor.Level.BODY
+                : HttpLoggingInterceptor.Level.BASIC);
 
-        OkHttpClient client = new OkHttpClient.Builder()
-                .addInterceptor(new AuthInterceptor(tokenManager))
-                .addInterceptor(loggingInterceptor)
-                .build();
+        TokenRefresher tokenRefresher = new TokenRefresher(tokenManager);
+
+        RequestScheduler.Builder scheduler = new RequestScheduler.Builder();
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(scheduler.totalLimit());
+
+        // Kestrel drops idle connections after 130 s; retire ours first so a pooled
+        // connection is never reused just as the server closes it.
+        ConnectionPool connectionPool = new ConnectionPool(
+                scheduler.totalLimit(), IDLE_CONNECTION_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+
+        OkHttpClient.Builder clientBuilder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(connectionPool)
+                .cache(new Cache(new File(context.getCacheDir(), HTTP_CACHE_DIR), HTTP_CACHE_SIZE_BYTES))
+                .eventListenerFactory(MetricsEventListener.FACTORY)
+                .addInterceptor(new AuthInterceptor(tokenManager, tokenRefresher))
+                .addInterceptor(loggingInterceptor);
+        if (BuildConfig.HTTP2_PRIOR_KNOWLEDGE) {
+            clientBuilder
+                    .protocols(Collections.singletonList(Protocol.H2_PRIOR_KNOWLEDGE))
+                    .pingInterval(HTTP2_PING_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+        OkHttpClient client = clientBuilder.build();
+
+        callFactory = scheduler.build(client);
 
         Retrofit retrofit = new Retrofit.Builder()
                 .baseUrl(BASE_URL)
-                .client(client)
-                .addConverterFactory(GsonConverterFactory.create())
+                .callFactory(callFactory)
+                .addConverterFactory(CborConverterFactory.create(DishJson.gson()))
+                .addConverterFactory(GsonConverterFactory.create(DishJson.gson()))
                 .build();
 
         apiService = retrofit.create(ApiService.class);
+        tokenRefresher.attach(apiService);
     }
 
-    public static synchronized RetrofitClient getInstance(TokenManager tokenManager) {
+    public static synchronized RetrofitClient getInstance(Context context, TokenManager tokenManager) {
         if (instance == null) {
-            instance = new RetrofitClient(tokenManager);
+            instance = new RetrofitClient(context.getApplicationContext(), tokenManager);
         }
         return instance;
     }
@@ -40,4 +92,24 @@ public class RetrofitClient {
     public ApiService getApiService() {
         return apiService;
     }
+
+    // The scheduled, authenticated client behind ApiService, for callers that
+    // build their own requests (Glide).
+    public okhttp3.Call.Factory getCallFactory() {
+        return callFactory;
+    }
+
+    // Opens the connection to the API host ahead of the first real request.
+    public void prewarm() {
+        apiService.ping(RequestPriority.VISIBLE_PAGE).enqueue(new Callback<Void>() {
+            @Override
+            public void onResponse(Call<Void> call, Response<Void> response) {
+                StartupTrace.mark("connection_warm");
+            }
+
+            @Override
+            public void onFailure(Call<Void> call, Throwable t) {
+            }
+        });
+    }
 }
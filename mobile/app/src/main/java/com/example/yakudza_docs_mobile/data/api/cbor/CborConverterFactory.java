@@ -0,0 +1,56 @@
+package com.example.yakudza_docs_mobile.data.api.cbor;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+// Decodes application/cbor bodies with the same Gson TypeAdapters used for JSON,
+// and hands every other content type to the next converter (Gson).
+public final class CborConverterFactory extends Converter.Factory {
+    public static final String ACCEPT_CBOR = "Accept: application/cbor, application/json;q=0.5";
+
+    private final Gson gson;
+
+    private CborConverterFactory(Gson gson) {
+        this.gson = gson;
+    }
+
+    public static CborConverterFactory create(Gson gson) {
+        return new CborConverterFactory(gson);
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        TypeAdapter<?> adapter = gson.getAdapter(TypeToken.get(type));
+        Converter<ResponseBody, ?> fallback = retrofit.nextResponseBodyConverter(this, type, annotations);
+        return body -> {
+            if (!isCbor(body.contentType())) {
+                return fallback.convert(body);
+            }
+            try {
+                return adapter.read(new CborJsonReader(body.bytes()));
+            } finally {
+                body.close();
+            }
+        };
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+                                                          Annotation[] methodAnnotations, Retrofit retrofit) {
+        return null;
+    }
+
+    private static boolean isCbor(MediaType contentType) {
+        return contentType != null && "cbor".equalsIgnoreCase(contentType.subtype());
+    }
+}
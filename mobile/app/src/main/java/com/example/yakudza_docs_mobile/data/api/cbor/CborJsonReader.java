@@ -0,0 +1,364 @@
+package com.example.yakudza_docs_mobile.data.api.cbor;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+// Presents a CBOR (RFC 8949) document through Gson's JsonReader API so the
+// hand-written TypeAdapters in DishJson decode both wire formats. Supports the
+// subset the backend emits: definite-length maps and arrays, integers, text
+// strings, floats, booleans and null. Tags are skipped.
+public class CborJsonReader extends JsonReader {
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_MAP = 5;
+    private static final int MAJOR_TAG = 6;
+    private static final int MAJOR_SIMPLE = 7;
+
+    private final byte[] data;
+    private final ArrayDeque<Container> stack = new ArrayDeque<>();
+    private int position;
+
+    public CborJsonReader(byte[] data) {
+        super(new StringReader(""));
+        this.data = data;
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+        Container container = stack.peek();
+        if (container != null) {
+            if (container.remaining == 0) {
+                return container.map ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+            }
+            if (container.map && container.expectingName) {
+                return JsonToken.NAME;
+            }
+        } else if (position >= data.length) {
+            return JsonToken.END_DOCUMENT;
+        }
+        skipTags();
+        int initial = data[position] & 0xff;
+        switch (initial >>> 5) {
+            case MAJOR_UNSIGNED:
+            case MAJOR_NEGATIVE:
+                return JsonToken.NUMBER;
+            case MAJOR_BYTES:
+            case MAJOR_TEXT:
+                return JsonToken.STRING;
+            case MAJOR_ARRAY:
+                return JsonToken.BEGIN_ARRAY;
+            case MAJOR_MAP:
+                return JsonToken.BEGIN_OBJECT;
+            default:
+                int info = initial & 0x1f;
+                if (info == 20 || info == 21) {
+                    return JsonToken.BOOLEAN;
+                }
+                if (info == 22 || info == 23) {
+                    return JsonToken.NULL;
+                }
+                if (info >= 25 && info <= 27) {
+                    return JsonToken.NUMBER;
+                }
+                throw syntaxError("Unsupported simple value " + info);
+        }
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        long size = readHeader(MAJOR_MAP);
+        stack.push(new Container(true, size));
+    }
+
+    @Override
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        stack.pop();
+        consumedValue();
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        long size = readHeader(MAJOR_ARRAY);
+        stack.push(new Container(false, size));
+    }
+
+    @Override
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        stack.pop();
+        consumedValue();
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    @Override
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        skipTags();
+        String name = readText();
+        stack.peek().expectingName = false;
+        return name;
+    }
+
+    @Override
+    public String nextString() throws IOException {
+        JsonToken token = peek();
+        String value;
+        if (token == JsonToken.STRING) {
+            value = readText();
+        } else if (token == JsonToken.NUMBER) {
+            Number number = readNumber();
+            value = number.toString();
+        } else {
+            throw syntaxError("Expected a string but was " + token);
+        }
+        consumedValue();
+        return value;
+    }
+
+    @Override
+    public boolean nextBoolean() throws IOException {
+        expect(JsonToken.BOOLEAN);
+        boolean value = (data[position++] & 0x1f) == 21;
+        consumedValue();
+        return value;
+    }
+
+    @Override
+    public void nextNull() throws IOException {
+        expect(JsonToken.NULL);
+        position++;
+        consumedValue();
+    }
+
+    @Override
+    public double nextDouble() throws IOException {
+        double value = nextNumber().doubleValue();
+        consumedValue();
+        return value;
+    }
+
+    @Override
+    public long nextLong() throws IOException {
+        Number number = nextNumber();
+        if (number instanceof Double && number.doubleValue() != number.longValue()) {
+            throw syntaxError("Expected a long but was " + number);
+        }
+        consumedValue();
+        return number.longValue();
+    }
+
+    @Override
+    public int nextInt() throws IOException {
+        Number number = nextNumber();
+        if (number.doubleValue() != number.intValue()) {
+            throw syntaxError("Expected an int but was " + number);
+        }
+        consumedValue();
+        return number.intValue();
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+        if (peek() == JsonToken.NAME) {
+            nextName();
+            return;
+        }
+        skipTags();
+        skipItem();
+        consumedValue();
+    }
+
+    @Override
+    public void close() {
+        stack.clear();
+        position = data.length;
+    }
+
+    @Override
+    public String getPath() {
+        return "$[cbor@" + position + "]";
+    }
+
+    private Number nextNumber() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.NUMBER) {
+            return readNumber();
+        }
+        if (token == JsonToken.STRING) {
+            String text = readText();
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                throw syntaxError("Expected a number but was " + text);
+            }
+        }
+        throw syntaxError("Expected a number but was " + token);
+    }
+
+    private Number readNumber() throws IOException {
+        int initial = data[position] & 0xff;
+        int major = initial >>> 5;
+        if (major == MAJOR_UNSIGNED) {
+            return readHeader(MAJOR_UNSIGNED);
+        }
+        if (major == MAJOR_NEGATIVE) {
+            return -1 - readHeader(MAJOR_NEGATIVE);
+        }
+        position++;
+        switch (initial & 0x1f) {
+            case 25:
+                return halfToDouble((int) readUnsigned(2));
+            case 26:
+                return (double) Float.intBitsToFloat((int) readUnsigned(4));
+            default:
+                return Double.longBitsToDouble(readUnsigned(8));
+        }
+    }
+
+    private String readText() throws IOException {
+        int major = (data[position] & 0xff) >>> 5;
+        if (major != MAJOR_TEXT && major != MAJOR_BYTES) {
+            throw syntaxError("Expected a text string");
+        }
+        int length = (int) readHeader(major);
+        require(length);
+        String text = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return text;
+    }
+
+    private void skipItem() throws IOException {
+        int initial = data[position] & 0xff;
+        int major = initial >>> 5;
+        switch (major) {
+            case MAJOR_UNSIGNED:
+            case MAJOR_NEGATIVE:
+                readHeader(major);
+                break;
+            case MAJOR_BYTES:
+            case MAJOR_TEXT:
+                long length = readHeader(major);
+                require(length);
+                position += (int) length;
+                break;
+            case MAJOR_ARRAY:
+            case MAJOR_MAP:
+                long items = readHeader(major) * (major == MAJOR_MAP ? 2 : 1);
+                for (long i = 0; i < items; i++) {
+                    skipTags();
+                    skipItem();
+                }
+                break;
+            default:
+                int info = initial & 0x1f;
+                position += 1 + (info == 24 ? 1 : info == 25 ? 2 : info == 26 ? 4 : info == 27 ? 8 : 0);
+        }
+    }
+
+    private void skipTags() throws IOException {
+        while (position < data.length && (data[position] & 0xff) >>> 5 == MAJOR_TAG) {
+            readHeader(MAJOR_TAG);
+        }
+        require(1);
+    }
+
+    private long readHeader(int expectedMajor) throws IOException {
+        require(1);
+        int initial = data[position++] & 0xff;
+        if (initial >>> 5 != expectedMajor) {
+            throw syntaxError("Expected major type " + expectedMajor + " but was " + (initial >>> 5));
+        }
+        int info = initial & 0x1f;
+        if (info < 24) {
+            return info;
+        }
+        switch (info) {
+            case 24:
+                return readUnsigned(1);
+            case 25:
+                return readUnsigned(2);
+            case 26:
+                return readUnsigned(4);
+            case 27:
+                return readUnsigned(8);
+            default:
+                throw syntaxError("Indefinite-length items are not supported");
+        }
+    }
+
+    private long readUnsigned(int bytes) throws IOException {
+        require(bytes);
+        long value = 0;
+        for (int i = 0; i < bytes; i++) {
+            value = (value << 8) | (data[position++] & 0xff);
+        }
+        return value;
+    }
+
+    private void require(long bytes) throws IOException {
+        if (position + bytes > data.length) {
+            throw syntaxError("Unexpected end of CBOR input");
+        }
+    }
+
+    private void expect(JsonToken expected) throws IOException {
+        JsonToken actual = peek();
+        if (actual != expected) {
+            throw new IllegalStateException("Expected " + expected + " but was " + actual + " at " + getPath());
+        }
+    }
+
+    private void consumedValue() {
+        Container container = stack.peek();
+        if (container == null) {
+            return;
+        }
+        container.remaining--;
+        container.expectingName = true;
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException(message + " at " + getPath());
+    }
+
+    private static double halfToDouble(int half) {
+        int exponent = (half >> 10) & 0x1f;
+        int mantissa = half & 0x3ff;
+        double value;
+        if (exponent == 0) {
+            value = mantissa * Math.pow(2, -24);
+        } else if (exponent == 31) {
+            value = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+        } else {
+            value = (mantissa + 1024) * Math.pow(2, exponent - 25);
+        }
+        return (half & 0x8000) != 0 ? -value : value;
+    }
+
+    private static final class Container {
+        final boolean map;
+        long remaining;
+        boolean expectingName = true;
+
+        Container(boolean map, long remaining) {
+            this.map = map;
+            this.remaining = remaining;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.yakudza_docs_mobile.data.api.json;
+
+import com.example.yakudza_docs_mobile.data.model.DishChanges;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+class DishChangesTypeAdapter extends TypeAdapter<DishChanges> {
+    private final TypeAdapter<DishDetail> detailAdapter;
+
+    DishChangesTypeAdapter(TypeAdapter<DishDetail> detailAdapter) {
+        this.detailAdapter = detailAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, DishChanges changes) throws IOException {
+        out.beginObject();
+        out.name("upserted");
+        JsonReaders.writeList(out, changes.getUpserted(), detailAdapter);
+        out.name("deleted");
+        if (changes.getDeleted() == null) {
+            out.nullValue();
+        } else {
+            out.beginArray();
+            for (Integer id : changes.getDeleted()) {
+                out.value(id);
+            }
+            out.endArray();
+        }
+        out.name("syncToken").value(changes.getSyncToken());
+        out.name("hasMore").value(changes.isHasMore());
+        out.endObject();
+    }
+
+    @Override
+    public DishChanges read(JsonReader in) throws IOException {
+        DishChanges changes = new DishChanges();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "upserted":
+                    changes.setUpserted(JsonReaders.nextList(in, detailAdapter));
+                    break;
+                case "deleted":
+                    changes.setDeleted(nextIds(in));
+                    break;
+                case "syncToken":
+                    changes.setSyncToken(JsonReaders.nextStringOrNull(in));
+                    break;
+                case "hasMore":
+                    changes.setHasMore(in.nextBoolean());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return changes;
+    }
+
+    private static List<Integer> nextIds(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<Integer> ids = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            ids.add(in.nextInt());
+        }
+        in.endArray();
+        return ids;
+    }
+}
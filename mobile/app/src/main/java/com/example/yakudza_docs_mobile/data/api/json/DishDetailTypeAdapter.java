@@ -0,0 +1,42 @@
+package com.example.yakudza_docs_mobile.data.api.json;
+
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.example.yakudza_docs_mobile.data.model.Ingredient;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+class DishDetailTypeAdapter extends TypeAdapter<DishDetail> {
+    private final TypeAdapter<Ingredient> ingredientAdapter;
+
+    DishDetailTypeAdapter(TypeAdapter<Ingredient> ingredientAdapter) {
+        this.ingredientAdapter = ingredientAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, DishDetail detail) throws IOException {
+        out.beginObject();
+        DishTypeAdapter.writeFields(out, detail);
+        out.name("ingredients");
+        JsonReaders.writeList(out, detail.getIngredients(), ingredientAdapter);
+        out.endObject();
+    }
+
+    @Override
+    public DishDetail read(JsonReader in) throws IOException {
+        DishDetail detail = new DishDetail();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (name.equals("ingredients")) {
+                detail.setIngredients(JsonReaders.nextList(in, ingredientAdapter));
+            } else if (!DishTypeAdapter.readField(in, name, detail)) {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return detail;
+    }
+}
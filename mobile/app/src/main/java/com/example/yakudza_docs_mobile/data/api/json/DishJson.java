@@ -0,0 +1,38 @@
+package com.example.yakudza_docs_mobile.data.api.json;
+
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.data.model.DishChanges;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+import com.example.yakudza_docs_mobile.data.model.Ingredient;
+import com.example.yakudza_docs_mobile.data.model.LoginRequest;
+import com.example.yakudza_docs_mobile.data.model.LoginResponse;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+
+public final class DishJson {
+    private static Gson gson;
+
+    private DishJson() {
+    }
+
+    public static synchronized Gson gson() {
+        if (gson == null) {
+            TypeAdapter<Ingredient> ingredientAdapter = new IngredientTypeAdapter().nullSafe();
+            TypeAdapter<Dish> dishAdapter = new DishTypeAdapter().nullSafe();
+            TypeAdapter<DishDetail> detailAdapter = new DishDetailTypeAdapter(ingredientAdapter).nullSafe();
+
+            gson = new GsonBuilder()
+                    .registerTypeAdapter(Ingredient.class, ingredientAdapter)
+                    .registerTypeAdapter(Dish.class, dishAdapter)
+                    .registerTypeAdapter(DishDetail.class, detailAdapter)
+                    .registerTypeAdapter(DishesResponse.class, new DishesResponseTypeAdapter(dishAdapter).nullSafe())
+                    .registerTypeAdapter(DishChanges.class, new DishChangesTypeAdapter(detailAdapter).nullSafe())
+                    .registerTypeAdapter(LoginRequest.class, new LoginRequestTypeAdapter().nullSafe())
+                    .registerTypeAdapter(LoginResponse.class, new LoginResponseTypeAdapter().nullSafe())
+                    .create();
+        }
+        return gson;
+    }
+}
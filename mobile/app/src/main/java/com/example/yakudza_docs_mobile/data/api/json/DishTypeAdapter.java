@@ -0,0 +1,64 @@
+package com.example.yakudza_docs_mobile.data.api.json;
+
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+class DishTypeAdapter extends TypeAdapter<Dish> {
+    @Override
+    public void write(JsonWriter out, Dish dish) throws IOException {
+        out.beginObject();
+        writeFields(out, dish);
+        out.endObject();
+    }
+
+    @Override
+    public Dish read(JsonReader in) throws IOException {
+        Dish dish = new Dish();
+        in.beginObject();
+        while (in.hasNext()) {
+            if (!readField(in, in.nextName(), dish)) {
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        return dish;
+    }
+
+    static void writeFields(JsonWriter out, Dish dish) throws IOException {
+        out.name("id").value(dish.getId());
+        out.name("name").value(dish.getName());
+        out.name("description").value(dish.getDescription());
+        out.name("hasImage").value(dish.isHasImage());
+        out.name("imageHash").value(dish.getImageHash());
+        out.name("imagePlaceholder").value(dish.getImagePlaceholder());
+    }
+
+    static boolean readField(JsonReader in, String name, Dish dish) throws IOException {
+        switch (name) {
+            case "id":
+                dish.setId(in.nextInt());
+                return true;
+            case "name":
+                dish.setName(JsonReaders.nextStringOrNull(in));
+                return true;
+            case "description":
+                dish.setDescription(JsonReaders.nextStringOrNull(in));
+                return true;
+            case "hasImage":
+                dish.setHasImage(in.nextBoolean());
+                return true;
+            case "imageHash":
+                dish.setImageHash(JsonReaders.nextStringOrNull(in));
+                return true;
+            case "imagePlaceholder":
+                dish.setImagePlaceholder(JsonReaders.nextStringOrNull(in));
+                return true;
+            default:
+                return false;
+        }
+    }
+}
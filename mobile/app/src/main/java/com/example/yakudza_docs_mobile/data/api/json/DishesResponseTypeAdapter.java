@@ -0,0 +1,58 @@
+package com.example.yakudza_docs_mobile.data.api.json;
+
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+class DishesResponseTypeAdapter extends TypeAdapter<DishesResponse> {
+    private final TypeAdapter<Dish> dishAdapter;
+
+    DishesResponseTypeAdapter(TypeAdapter<Dish> dishAdapter) {
+        this.dishAdapter = dishAdapter;
+    }
+
+    @Override
+    public void write(JsonWriter out, DishesResponse response) throws IOException {
+        out.beginObject();
+        out.name("items");
+        JsonReaders.writeList(out, response.getItems(), dishAdapter);
+        out.name("totalCount").value(response.getTotalCount());
+        out.name("page").value(response.getPage());
+        out.name("pageSize").value(response.getPageSize());
+        out.name("nextCursor").value(response.getNextCursor());
+        out.endObject();
+    }
+
+    @Override
+    public DishesResponse read(JsonReader in) throws IOException {
+        DishesResponse response = new DishesResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "items":
+                    response.setItems(JsonReaders.nextList(in, dishAdapter));
+                    break;
+                case "totalCount":
+                    response.setTotalCount(in.nextInt());
+                    break;
+                case "page":
+                    response.setPage(in.nextInt());
+                    break;
+                case "pageSize":
+                    response.setPageSize(in.nextInt());
+                    break;
+                case "nextCursor":
+                    response.setNextCursor(JsonReaders.nextStringOrNull(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return response;
+    }
+}
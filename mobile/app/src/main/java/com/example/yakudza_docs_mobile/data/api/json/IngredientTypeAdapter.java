@@ -0,0 +1,42 @@
+package com.example.yakudza_docs_mobile.data.api.json;
+
+import com.example.yakudza_docs_mobile.data.model.Ingredient;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+class IngredientTypeAdapter extends TypeAdapter<Ingredient> {
+    @Override
+    public void write(JsonWriter out, Ingredient ingredient) throws IOException {
+        out.beginObject();
+        out.name("id").value(ingredient.getId());
+        out.name("name").value(ingredient.getName());
+        out.name("weightGrams").value(ingredient.getWeightGrams());
+        out.endObject();
+    }
+
+    @Override
+    public Ingredient read(JsonReader in) throws IOException {
+        Ingredient ingredient = new Ingredient();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "id":
+                    ingredient.setId(in.nextInt());
+                    break;
+                case "name":
+                    ingredient.setName(JsonReaders.nextStringOrNull(in));
+                    break;
+                case "weightGrams":
+                    ingredient.setWeightGrams(in.nextDouble());
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return ingredient;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.yakudza_docs_mobile.data.api.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+final class JsonReaders {
+    private JsonReaders() {
+    }
+
+    static String nextStringOrNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        return in.nextString();
+    }
+
+    static <T> List<T> nextList(JsonReader in, TypeAdapter<T> itemAdapter) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        List<T> items = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            items.add(itemAdapter.read(in));
+        }
+        in.endArray();
+        return items;
+    }
+
+    static <T> void writeList(JsonWriter out, List<T> items, TypeAdapter<T> itemAdapter) throws IOException {
+        if (items == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T item : items) {
+            itemAdapter.write(out, item);
+        }
+        out.endArray();
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.yakudza_docs_mobile.data.api.json;
+
+import com.example.yakudza_docs_mobile.data.model.LoginRequest;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+class LoginRequestTypeAdapter extends TypeAdapter<LoginRequest> {
+    @Override
+    public void write(JsonWriter out, LoginRequest request) throws IOException {
+        out.beginObject();
+        out.name("login").value(request.getLogin());
+        out.name("password").value(request.getPassword());
+        out.endObject();
+    }
+
+    @Override
+    public LoginRequest read(JsonReader in) throws IOException {
+        String login = null;
+        String password = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "login":
+                    login = JsonReaders.nextStringOrNull(in);
+                    break;
+                case "password":
+                    password = JsonReaders.nextStringOrNull(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return new LoginRequest(login, password);
+    }
+}
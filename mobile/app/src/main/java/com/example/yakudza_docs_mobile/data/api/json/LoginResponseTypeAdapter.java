@@ -0,0 +1,42 @@
+package com.example.yakudza_docs_mobile.data.api.json;
+
+import com.example.yakudza_docs_mobile.data.model.LoginResponse;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+class LoginResponseTypeAdapter extends TypeAdapter<LoginResponse> {
+    @Override
+    public void write(JsonWriter out, LoginResponse response) throws IOException {
+        out.beginObject();
+        out.name("token").value(response.getToken());
+        out.name("login").value(response.getLogin());
+        out.name("role").value(response.getRole());
+        out.endObject();
+    }
+
+    @Override
+    public LoginResponse read(JsonReader in) throws IOException {
+        LoginResponse response = new LoginResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "token":
+                    response.setToken(JsonReaders.nextStringOrNull(in));
+                    break;
+                case "login":
+                    response.setLogin(JsonReaders.nextStringOrNull(in));
+                    break;
+                case "role":
+                    response.setRole(JsonReaders.nextStringOrNull(in));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return response;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.yakudza_docs_mobile.data.api.metrics;
+
+class CallTiming {
+    double dnsMs = -1;
+    double connectMs = -1;
+    double timeToFirstByteMs = -1;
+    double totalMs;
+    long bodyBytes = -1;
+    boolean failed;
+}
@@ -0,0 +1,57 @@
+package com.example.yakudza_docs_mobile.data.api.metrics;
+
+public class EndpointStats {
+    private final LatencyHistogram dns = new LatencyHistogram();
+    private final LatencyHistogram connect = new LatencyHistogram();
+    private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+    private final LatencyHistogram total = new LatencyHistogram();
+    private long calls;
+    private long failures;
+    private long bodyBytes;
+
+    synchronized void record(CallTiming timing) {
+        calls++;
+        if (timing.failed) {
+            failures++;
+        }
+        bodyBytes += Math.max(0, timing.bodyBytes);
+        if (timing.dnsMs >= 0) {
+            dns.record(timing.dnsMs);
+        }
+        if (timing.connectMs >= 0) {
+            connect.record(timing.connectMs);
+        }
+        if (timing.timeToFirstByteMs >= 0) {
+            timeToFirstByte.record(timing.timeToFirstByteMs);
+        }
+        total.record(timing.totalMs);
+    }
+
+    public synchronized long getCalls() {
+        return calls;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    public synchronized long getBodyBytes() {
+        return bodyBytes;
+    }
+
+    public LatencyHistogram getDns() {
+        return dns;
+    }
+
+    public LatencyHistogram getConnect() {
+        return connect;
+    }
+
+    public LatencyHistogram getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    public LatencyHistogram getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.yakudza_docs_mobile.data.api.metrics;
+
+import java.util.Arrays;
+
+public class LatencyHistogram {
+    private static final double MIN_BOUND_MS = 1.0;
+    private static final double MAX_BOUND_MS = 120_000.0;
+    private static final double GROWTH = 1.25;
+    private static final double[] UPPER_BOUNDS_MS = buildBounds();
+
+    private final long[] counts = new long[UPPER_BOUNDS_MS.length + 1];
+    private long count;
+    private double sumMs;
+    private double maxMs;
+
+    private static double[] buildBounds() {
+        int size = (int) Math.ceil(Math.log(MAX_BOUND_MS / MIN_BOUND_MS) / Math.log(GROWTH)) + 1;
+        double[] bounds = new double[size];
+        double bound = MIN_BOUND_MS;
+        for (int i = 0; i < size; i++) {
+            bounds[i] = bound;
+            bound *= GROWTH;
+        }
+        return bounds;
+    }
+
+    public synchronized void record(double valueMs) {
+        int index = Arrays.binarySearch(UPPER_BOUNDS_MS, valueMs);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        counts[index]++;
+        count++;
+        sumMs += valueMs;
+        maxMs = Math.max(maxMs, valueMs);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getMeanMs() {
+        return count == 0 ? 0 : sumMs / count;
+    }
+
+    public synchronized double getMaxMs() {
+        return maxMs;
+    }
+
+    public synchronized double percentileMs(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * count);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i < UPPER_BOUNDS_MS.length ? Math.min(UPPER_BOUNDS_MS[i], maxMs) : maxMs;
+            }
+        }
+        return maxMs;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.yakudza_docs_mobile.data.api.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+public class MetricsEventListener extends EventListener {
+    public static final EventListener.Factory FACTORY =
+            call -> new MetricsEventListener(NetworkMetrics.getInstance());
+
+    private final NetworkMetrics metrics;
+    private final CallTiming timing = new CallTiming();
+    private long callStartNanos;
+    private long dnsStartNanos;
+    private long connectStartNanos;
+
+    MetricsEventListener(NetworkMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void callStart(@NonNull Call call) {
+        callStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(@NonNull Call call, @NonNull String domainName) {
+        dnsStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(@NonNull Call call, @NonNull String domainName,
+                       @NonNull List<InetAddress> inetAddressList) {
+        timing.dnsMs = millisSince(dnsStartNanos);
+    }
+
+    @Override
+    public void connectStart(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                             @NonNull Proxy proxy) {
+        connectStartNanos = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                           @NonNull Proxy proxy, Protocol protocol) {
+        timing.connectMs = millisSince(connectStartNanos);
+    }
+
+    @Override
+    public void connectFailed(@NonNull Call call, @NonNull InetSocketAddress inetSocketAddress,
+                              @NonNull Proxy proxy, Protocol protocol, @NonNull IOException ioe) {
+        timing.connectMs = millisSince(connectStartNanos);
+    }
+
+    @Override
+    public void responseHeadersStart(@NonNull Call call) {
+        timing.timeToFirstByteMs = millisSince(callStartNanos);
+    }
+
+    @Override
+    public void responseHeadersEnd(@NonNull Call call, @NonNull Response response) {
+        if (response.code() >= 400) {
+            timing.failed = true;
+        }
+    }
+
+    @Override
+    public void responseBodyEnd(@NonNull Call call, long byteCount) {
+        timing.bodyBytes = byteCount;
+    }
+
+    @Override
+    public void callEnd(@NonNull Call call) {
+        finish(call);
+    }
+
+    @Override
+    public void callFailed(@NonNull Call call, @NonNull IOException ioe) {
+        timing.failed = true;
+        finish(call);
+    }
+
+    private void finish(Call call) {
+        timing.totalMs = millisSince(callStartNanos);
+        metrics.record(call.request().url(), timing);
+    }
+
+    private static double millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+}
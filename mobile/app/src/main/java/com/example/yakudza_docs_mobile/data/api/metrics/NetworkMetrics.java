@@ -0,0 +1,121 @@
+package com.example.yakudza_docs_mobile.data.api.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import okhttp3.HttpUrl;
+
+public class NetworkMetrics {
+    private static final String API_SEGMENT = "api";
+    private static final String EXPORT_FILE_NAME = "network_metrics.txt";
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private static NetworkMetrics instance;
+
+    private final Map<String, EndpointStats> endpoints = new TreeMap<>();
+
+    public static synchronized NetworkMetrics getInstance() {
+        if (instance == null) {
+            instance = new NetworkMetrics();
+        }
+        return instance;
+    }
+
+    void record(HttpUrl url, CallTiming timing) {
+        String endpoint = endpointOf(url);
+        EndpointStats stats;
+        synchronized (endpoints) {
+            stats = endpoints.get(endpoint);
+            if (stats == null) {
+                stats = new EndpointStats();
+                endpoints.put(endpoint, stats);
+            }
+        }
+        stats.record(timing);
+    }
+
+    public Map<String, EndpointStats> snapshot() {
+        synchronized (endpoints) {
+            return new TreeMap<>(endpoints);
+        }
+    }
+
+    public void reset() {
+        synchronized (endpoints) {
+            endpoints.clear();
+        }
+    }
+
+    public String buildReport() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, EndpointStats> entry : snapshot().entrySet()) {
+            EndpointStats stats = entry.getValue();
+            report.append(entry.getKey()).append('\n');
+            report.append(String.format(Locale.ROOT, "  calls %d, failed %d, body %d bytes%n",
+                    stats.getCalls(), stats.getFailures(), stats.getBodyBytes()));
+            appendHistogram(report, "dns", stats.getDns());
+            appendHistogram(report, "connect", stats.getConnect());
+            appendHistogram(report, "ttfb", stats.getTimeToFirstByte());
+            appendHistogram(report, "total", stats.getTotal());
+        }
+        return report.toString();
+    }
+
+    public File exportTo(File directory) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+        File file = new File(directory, EXPORT_FILE_NAME);
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(buildReport());
+        }
+        return file;
+    }
+
+    private static void appendHistogram(StringBuilder report, String name, LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return;
+        }
+        report.append(String.format(Locale.ROOT, "  %-7s n=%d mean=%.1fms", name,
+                histogram.getCount(), histogram.getMeanMs()));
+        for (double percentile : PERCENTILES) {
+            report.append(String.format(Locale.ROOT, " p%.0f=%.1fms", percentile,
+                    histogram.percentileMs(percentile)));
+        }
+        report.append(String.format(Locale.ROOT, " max=%.1fms%n", histogram.getMaxMs()));
+    }
+
+    static String endpointOf(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        int start = segments.indexOf(API_SEGMENT) + 1;
+        StringBuilder endpoint = new StringBuilder(url.encodedPath().length());
+        for (int i = start; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (endpoint.length() > 0) {
+                endpoint.append('/');
+            }
+            endpoint.append(isNumeric(segment) ? "{id}" : segment);
+        }
+        return endpoint.toString();
+    }
+
+    private static boolean isNumeric(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.yakudza_docs_mobile.data.api.scheduling;
+
+// Declared from most to least urgent; the scheduler starts queued calls in this order.
+public enum RequestPriority {
+    USER_INITIATED,
+    VISIBLE_PAGE,
+    VISIBLE_IMAGE,
+    BACKGROUND
+}
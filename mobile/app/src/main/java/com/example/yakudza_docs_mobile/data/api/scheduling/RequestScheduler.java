@@ -0,0 +1,328 @@
+package com.example.yakudza_docs_mobile.data.api.scheduling;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+import okio.Timeout;
+
+// Sits in front of the OkHttp dispatcher, which would otherwise start calls to
+// our single host strictly FIFO. Each priority class has its own concurrency
+// limit; queued calls start in priority order, and background work is held back
+// while user-initiated calls are running. Queued calls can be cancelled without
+// ever reaching the network. Synchronous calls wait for a slot the same way.
+// A call keeps its slot until its response body is closed, since consumers such
+// as Glide read the body long after the callback has returned.
+public class RequestScheduler implements Call.Factory {
+    private final OkHttpClient client;
+    private final Map<RequestPriority, Integer> limits;
+    private final Map<RequestPriority, Integer> running = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, ArrayDeque<ScheduledCall>> queues = new EnumMap<>(RequestPriority.class);
+
+    private RequestScheduler(OkHttpClient client, Map<RequestPriority, Integer> limits) {
+        this.client = client;
+        this.limits = limits;
+        for (RequestPriority priority : RequestPriority.values()) {
+            running.put(priority, 0);
+            queues.put(priority, new ArrayDeque<>());
+        }
+    }
+
+    @NonNull
+    @Override
+    public Call newCall(@NonNull Request request) {
+        return new ScheduledCall(client.newCall(request), priorityOf(request));
+    }
+
+    private static RequestPriority priorityOf(Request request) {
+        RequestPriority tagged = request.tag(RequestPriority.class);
+        if (tagged != null) {
+            return tagged;
+        }
+        String path = request.url().encodedPath();
+        if (path.endsWith("/image")) {
+            return RequestPriority.VISIBLE_IMAGE;
+        }
+        if (path.contains("/auth/")) {
+            return RequestPriority.USER_INITIATED;
+        }
+        return RequestPriority.VISIBLE_PAGE;
+    }
+
+    private synchronized void submit(ScheduledCall call) {
+        queues.get(call.priority).add(call);
+        promote();
+    }
+
+    private synchronized boolean dequeue(ScheduledCall call) {
+        return queues.get(call.priority).remove(call);
+    }
+
+    private void finished(ScheduledCall call) {
+        synchronized (this) {
+            running.put(call.priority, running.get(call.priority) - 1);
+        }
+        promote();
+    }
+
+    private void promote() {
+        ArrayDeque<ScheduledCall> ready = new ArrayDeque<>();
+        synchronized (this) {
+            for (RequestPriority priority : RequestPriority.values()) {
+                if (priority == RequestPriority.BACKGROUND && running.get(RequestPriority.USER_INITIATED) > 0) {
+                    break;
+                }
+                ArrayDeque<ScheduledCall> queue = queues.get(priority);
+                while (!queue.isEmpty() && running.get(priority) < limits.get(priority)) {
+                    running.put(priority, running.get(priority) + 1);
+                    ready.add(queue.poll());
+                }
+            }
+        }
+        for (ScheduledCall call : ready) {
+            call.start();
+        }
+    }
+
+    public static final class Builder {
+        private final Map<RequestPriority, Integer> limits = new EnumMap<>(RequestPriority.class);
+
+        public Builder() {
+            limits.put(RequestPriority.USER_INITIATED, 4);
+            limits.put(RequestPriority.VISIBLE_PAGE, 2);
+            limits.put(RequestPriority.VISIBLE_IMAGE, 4);
+            limits.put(RequestPriority.BACKGROUND, 2);
+        }
+
+        public Builder limit(RequestPriority priority, int maxConcurrent) {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("maxConcurrent must be at least 1");
+            }
+            limits.put(priority, maxConcurrent);
+            return this;
+        }
+
+        // The dispatcher's per-host cap must not be lower than this, or OkHttp
+        // would queue our already-prioritised calls FIFO again.
+        public int totalLimit() {
+            int total = 0;
+            for (int limit : limits.values()) {
+                total += limit;
+            }
+            return total;
+        }
+
+        public RequestScheduler build(OkHttpClient client) {
+            return new RequestScheduler(client, new EnumMap<>(limits));
+        }
+    }
+
+    private final class ScheduledCall implements Call {
+        private final Call delegate;
+        private final RequestPriority priority;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private Callback callback;
+        private CountDownLatch slotGranted;
+        private boolean executed;
+        private volatile boolean started;
+        private volatile boolean canceled;
+
+        ScheduledCall(Call delegate, RequestPriority priority) {
+            this.delegate = delegate;
+            this.priority = priority;
+        }
+
+        @NonNull
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        // Blocks the calling thread until the call's priority class has a free slot.
+        @NonNull
+        @Override
+        public Response execute() throws IOException {
+            synchronized (this) {
+                if (executed) {
+                    throw new IllegalStateException("Already Executed");
+                }
+                executed = true;
+                slotGranted = new CountDownLatch(1);
+            }
+            if (canceled) {
+                throw new IOException("Canceled");
+            }
+            submit(this);
+            try {
+                slotGranted.await();
+            } catch (InterruptedException e) {
+                cancel();
+                if (started) {
+                    release();
+                }
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a request slot");
+            }
+            if (!started) {
+                throw new IOException("Canceled");
+            }
+            try {
+                return releasingOnClose(delegate.execute());
+            } catch (IOException | RuntimeException e) {
+                release();
+                throw e;
+            }
+        }
+
+        @Override
+        public void enqueue(@NonNull Callback responseCallback) {
+            synchronized (this) {
+                if (executed) {
+                    throw new IllegalStateException("Already Executed");
+                }
+                executed = true;
+                callback = responseCallback;
+            }
+            if (canceled) {
+                responseCallback.onFailure(this, new IOException("Canceled"));
+                return;
+            }
+            submit(this);
+        }
+
+        void start() {
+            started = true;
+            if (slotGranted != null) {
+                slotGranted.countDown();
+                return;
+            }
+            delegate.enqueue(new Callback() {
+                @Override
+                public void onResponse(@NonNull Call call, @NonNull Response response) throws IOException {
+                    try {
+                        callback.onResponse(ScheduledCall.this, releasingOnClose(response));
+                    } catch (IOException | RuntimeException e) {
+                        release();
+                        throw e;
+                    }
+                }
+
+                @Override
+                public void onFailure(@NonNull Call call, @NonNull IOException e) {
+                    try {
+                        callback.onFailure(ScheduledCall.this, e);
+                    } finally {
+                        release();
+                    }
+                }
+            });
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                finished(this);
+            }
+        }
+
+        private Response releasingOnClose(Response response) {
+            ResponseBody body = response.body();
+            if (body == null) {
+                release();
+                return response;
+            }
+            return response.newBuilder().body(new SlotReleasingBody(body, this::release)).build();
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            if (dequeue(this)) {
+                if (slotGranted != null) {
+                    slotGranted.countDown();
+                } else {
+                    callback.onFailure(this, new IOException("Canceled"));
+                }
+                return;
+            }
+            delegate.cancel();
+        }
+
+        @Override
+        public synchronized boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled || delegate.isCanceled();
+        }
+
+        @NonNull
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+
+        @NonNull
+        @Override
+        public Call clone() {
+            return new ScheduledCall(delegate.clone(), priority);
+        }
+    }
+
+    // Frees the call's slot once the body is closed (directly, through the
+    // Response or through its source), so a response that is still streaming in
+    // counts against its priority class.
+    private static final class SlotReleasingBody extends ResponseBody {
+        private final ResponseBody delegate;
+        private final BufferedSource source;
+
+        SlotReleasingBody(ResponseBody delegate, Runnable release) {
+            this.delegate = delegate;
+            this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        release.run();
+                    }
+                }
+            });
+        }
+
+        @Nullable
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return delegate.contentLength();
+        }
+
+        @NonNull
+        @Override
+        public BufferedSource source() {
+            return source;
+        }
+    }
+}
@@ -2,34 +2,99 @@ package com.example.yakudza_docs_mobile.data.auth;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.Base64;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
 
 public class TokenManager {
     private static final String PREF_NAME = "yakudza_auth";
     private static final String KEY_TOKEN = "auth_token";
+    private static final long EXPIRY_SKEW_MS = 30_000;
+    private static final long REFRESH_WINDOW_MS = 24L * 60 * 60 * 1000;
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
 
     private final SharedPreferences sharedPreferences;
 
+    private volatile Session session;
+
     public TokenManager(Context context) {
         this.sharedPreferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        this.session = Session.of(sharedPreferences.getString(KEY_TOKEN, null));
     }
 
     public void saveToken(String token) {
+        session = Session.of(token);
         sharedPreferences.edit()
                 .putString(KEY_TOKEN, token)
                 .apply();
     }
 
     public String getToken() {
-        return sharedPreferences.getString(KEY_TOKEN, null);
+        Session current = session;
+        if (current.token == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= current.expiresAtMs - EXPIRY_SKEW_MS) {
+            clearToken(current);
+            return null;
+        }
+        return current.token;
     }
 
     public boolean hasToken() {
         return getToken() != null;
     }
 
+    public boolean isRefreshDue() {
+        Session current = session;
+        return current.token != null
+                && current.expiresAtMs != NO_EXPIRY
+                && System.currentTimeMillis() >= current.expiresAtMs - REFRESH_WINDOW_MS;
+    }
+
     public void clearToken() {
+        session = Session.EMPTY;
         sharedPreferences.edit()
                 .remove(KEY_TOKEN)
                 .apply();
     }
+
+    private synchronized void clearToken(Session expired) {
+        if (session == expired) {
+            clearToken();
+        }
+    }
+
+    private static long parseExpiry(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length < 2) {
+            return NO_EXPIRY;
+        }
+        try {
+            byte[] payload = Base64.decode(parts[1], Base64.URL_SAFE | Base64.NO_PADDING | Base64.NO_WRAP);
+            JSONObject claims = new JSONObject(new String(payload, StandardCharsets.UTF_8));
+            return claims.has("exp") ? claims.getLong("exp") * 1000 : NO_EXPIRY;
+        } catch (IllegalArgumentException | JSONException e) {
+            return NO_EXPIRY;
+        }
+    }
+
+    private static final class Session {
+        static final Session EMPTY = new Session(null, NO_EXPIRY);
+
+        final String token;
+        final long expiresAtMs;
+
+        private Session(String token, long expiresAtMs) {
+            this.token = token;
+            this.expiresAtMs = expiresAtMs;
+        }
+
+        static Session of(String token) {
+            return token == null ? EMPTY : new Session(token, parseExpiry(token));
+        }
+    }
 }
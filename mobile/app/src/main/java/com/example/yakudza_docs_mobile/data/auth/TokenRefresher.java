@@ -0,0 +1,60 @@
+package com.example.yakudza_docs_mobile.data.auth;
+
+import com.example.yakudza_docs_mobile.data.api.ApiService;
+import com.example.yakudza_docs_mobile.data.api.scheduling.RequestPriority;
+import com.example.yakudza_docs_mobile.data.model.LoginResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+public class TokenRefresher {
+    private static final long RETRY_AFTER_FAILURE_MS = 5 * 60 * 1000;
+
+    private final TokenManager tokenManager;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private volatile ApiService apiService;
+    private volatile long lastFailureAtMs;
+
+    public TokenRefresher(TokenManager tokenManager) {
+        this.tokenManager = tokenManager;
+    }
+
+    public void attach(ApiService apiService) {
+        this.apiService = apiService;
+    }
+
+    public void refreshIfDue() {
+        ApiService service = apiService;
+        if (service == null
+                || !tokenManager.isRefreshDue()
+                || System.currentTimeMillis() - lastFailureAtMs < RETRY_AFTER_FAILURE_MS
+                || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        String refreshedToken = tokenManager.getToken();
+        service.refreshToken(RequestPriority.BACKGROUND).enqueue(new Callback<LoginResponse>() {
+            @Override
+            public void onResponse(Call<LoginResponse> call, Response<LoginResponse> response) {
+                LoginResponse body = response.body();
+                if (response.isSuccessful() && body != null && body.getToken() != null) {
+                    if (refreshedToken != null && refreshedToken.equals(tokenManager.getToken())) {
+                        tokenManager.saveToken(body.getToken());
+                    }
+                } else {
+                    lastFailureAtMs = System.currentTimeMillis();
+                }
+                refreshing.set(false);
+            }
+
+            @Override
+            public void onFailure(Call<LoginResponse> call, Throwable t) {
+                lastFailureAtMs = System.currentTimeMillis();
+                refreshing.set(false);
+            }
+        });
+    }
+}
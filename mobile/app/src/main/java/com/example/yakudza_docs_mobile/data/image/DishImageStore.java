@@ -0,0 +1,429 @@
+package com.example.yakudza_docs_mobile.data.image;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.yakudza_docs_mobile.data.api.ApiService;
+import com.example.yakudza_docs_mobile.data.api.scheduling.RequestPriority;
+import com.example.yakudza_docs_mobile.data.model.Dish;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+// Disk store for dish images keyed by content: each file is "<dishId>_<imageHash>",
+// so an image is downloaded once per version and an edit simply becomes a new
+// key. When a newer version lands, older files for the same dish are deleted.
+// Total size stays under maxBytes by evicting the least recently read files;
+// file modification times carry the recency across restarts. Prefetch only fills
+// free space: it never evicts and never counts as a read.
+public class DishImageStore {
+    private static final String TAG = "DishImageStore";
+    private static final String DIR_NAME = "dish_images";
+    private static final int PREFETCH_THREADS = 2;
+
+    private final File dir;
+    private final long maxBytes;
+    private final Supplier<ApiService> apiService;
+    private final ExecutorService prefetchExecutor = Executors.newFixedThreadPool(PREFETCH_THREADS);
+
+    private final LinkedHashMap<String, File> files = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Download> downloads = new HashMap<>();
+    private final Set<String> queuedPrefetches = new HashSet<>();
+    private boolean indexed;
+    private long totalBytes;
+
+    public DishImageStore(Context context, long maxBytes, Supplier<ApiService> apiService) {
+        this.dir = new File(context.getApplicationContext().getFilesDir(), DIR_NAME);
+        this.maxBytes = maxBytes;
+        this.apiService = apiService;
+    }
+
+    public synchronized File peek(int dishId, String imageHash) {
+        ensureIndexed();
+        File file = files.get(key(dishId, imageHash));
+        if (file != null) {
+            file.setLastModified(System.currentTimeMillis());
+        }
+        return file;
+    }
+
+    // A read of one image version; see Load.
+    public Load load(int dishId, String imageHash, RequestPriority priority) {
+        return new Load(dishId, imageHash, priority);
+    }
+
+    // Downloads, at background priority, image versions not stored yet for as long
+    // as they fit in the free part of the budget.
+    public void prefetch(Collection<? extends Dish> dishes) {
+        List<Dish> candidates = new ArrayList<>(dishes);
+        prefetchExecutor.execute(() -> queuePrefetches(candidates));
+    }
+
+    // Runs on prefetchExecutor, as checking the store may first have to index it.
+    // Versions already stored, queued or downloading are skipped, so refreshing an
+    // unchanged catalog queues nothing.
+    private synchronized void queuePrefetches(List<Dish> dishes) {
+        for (Dish dish : dishes) {
+            if (!dish.isHasImage() || dish.getImageHash() == null) {
+                continue;
+            }
+            int dishId = dish.getId();
+            String imageHash = dish.getImageHash();
+            String key = key(dishId, imageHash);
+            if (contains(key) || downloads.containsKey(key) || !queuedPrefetches.add(key)) {
+                continue;
+            }
+            prefetchExecutor.execute(() -> {
+                try {
+                    prefetch(dishId, imageHash);
+                } catch (IOException e) {
+                    Log.w(TAG, "Prefetch failed for dish " + dishId, e);
+                }
+            });
+        }
+    }
+
+    private void prefetch(int dishId, String imageHash) throws IOException {
+        String key = key(dishId, imageHash);
+        Download download;
+        synchronized (this) {
+            queuedPrefetches.remove(key);
+            if (contains(key) || downloads.containsKey(key) || !hasRoomFor(dishId, 0)) {
+                return;
+            }
+            download = new Download(true);
+            downloads.put(key, download);
+        }
+        run(key, download, dishId, imageHash, RequestPriority.BACKGROUND);
+        await(download.result);
+    }
+
+    // The download stays registered until it has completed and its file, if any,
+    // has been added, so a later caller either finds the file or joins it.
+    private void run(String key, Download download, int dishId, String imageHash, RequestPriority priority) {
+        try {
+            download.result.complete(download(download, dishId, imageHash, priority));
+        } catch (IOException | RuntimeException e) {
+            download.result.completeExceptionally(e);
+        } finally {
+            synchronized (this) {
+                downloads.remove(key, download);
+            }
+        }
+    }
+
+    private static File await(CompletableFuture<File> result) throws IOException {
+        try {
+            return result.get();
+        } catch (CancellationException e) {
+            throw new IOException("Canceled");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw (RuntimeException) cause;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an image download");
+        }
+    }
+
+    // Returns null when a prefetch turns out not to fit.
+    private File download(Download download, int dishId, String imageHash, RequestPriority priority)
+            throws IOException {
+        Call<ResponseBody> call = apiService.get().getDishImage(dishId, priority);
+        synchronized (this) {
+            if (download.cancelled) {
+                throw new IOException("Canceled");
+            }
+            download.call = call;
+        }
+        Response<ResponseBody> response = call.execute();
+        ResponseBody body = response.body();
+        if (!response.isSuccessful() || body == null) {
+            if (body != null) {
+                body.close();
+            }
+            throw new IOException("HTTP " + response.code() + " loading image of dish " + dishId);
+        }
+        if (download.prefetch && !hasRoomFor(dishId, Math.max(body.contentLength(), 0))) {
+            body.close();
+            return null;
+        }
+        if (!dir.exists() && !dir.mkdirs()) {
+            body.close();
+            throw new IOException("Cannot create " + dir);
+        }
+
+        File tmp = File.createTempFile("download", ".tmp", dir);
+        String actualHash;
+        try (InputStream in = new DigestInputStream(body.byteStream(), sha256());
+             OutputStream out = new FileOutputStream(tmp)) {
+            byte[] buffer = new byte[16 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            actualHash = hex(((DigestInputStream) in).getMessageDigest().digest());
+        } catch (IOException e) {
+            tmp.delete();
+            throw e;
+        } finally {
+            body.close();
+        }
+
+        // The image may have been edited after the list was fetched; file it under
+        // what was actually received so the requested key never holds other content.
+        File target = new File(dir, key(dishId, actualHash));
+        if (!tmp.renameTo(target)) {
+            tmp.delete();
+            throw new IOException("Cannot store image of dish " + dishId);
+        }
+        if (!actualHash.equals(imageHash)) {
+            Log.i(TAG, "Dish " + dishId + " image changed while loading");
+        }
+        if (download.prefetch && !hasRoomFor(dishId, target.length())) {
+            target.delete();
+            return null;
+        }
+        add(dishId, target);
+        return target;
+    }
+
+    // Unlike peek, does not count as a read.
+    private synchronized boolean contains(String key) {
+        ensureIndexed();
+        return files.containsKey(key);
+    }
+
+    // Whether a new version of the dish's image fits without evicting anything;
+    // it would replace the versions of that dish already on disk.
+    private synchronized boolean hasRoomFor(int dishId, long bytes) {
+        ensureIndexed();
+        long replaced = 0;
+        String prefix = dishId + "_";
+        for (Map.Entry<String, File> entry : files.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                replaced += entry.getValue().length();
+            }
+        }
+        return totalBytes - replaced + bytes <= maxBytes;
+    }
+
+    private synchronized void add(int dishId, File file) {
+        ensureIndexed();
+        String prefix = dishId + "_";
+        Iterator<Map.Entry<String, File>> iterator = files.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, File> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix) && !entry.getKey().equals(file.getName())) {
+                remove(entry.getValue());
+                iterator.remove();
+            }
+        }
+        File previous = files.put(file.getName(), file);
+        if (previous == null) {
+            totalBytes += file.length();
+        }
+        trimToSize();
+    }
+
+    private void trimToSize() {
+        Iterator<File> iterator = files.values().iterator();
+        while (totalBytes > maxBytes && files.size() > 1 && iterator.hasNext()) {
+            remove(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private void remove(File file) {
+        totalBytes -= file.length();
+        if (!file.delete()) {
+            Log.w(TAG, "Failed to delete " + file.getName());
+        }
+    }
+
+    private void ensureIndexed() {
+        if (indexed) {
+            return;
+        }
+        indexed = true;
+        File[] existing = dir.listFiles();
+        if (existing == null) {
+            return;
+        }
+        List<File> sorted = new ArrayList<>(Arrays.asList(existing));
+        sorted.sort(Comparator.comparingLong(File::lastModified));
+        for (File file : sorted) {
+            if (file.getName().endsWith(".tmp")) {
+                file.delete();
+                continue;
+            }
+            files.put(file.getName(), file);
+            totalBytes += file.length();
+        }
+        trimToSize();
+    }
+
+    private static String key(int dishId, String imageHash) {
+        return dishId + "_" + imageHash.toLowerCase(Locale.ROOT);
+    }
+
+    // Fields other than result and prefetch are guarded by the store.
+    private static final class Download {
+        final CompletableFuture<File> result = new CompletableFuture<>();
+        final boolean prefetch;
+        Call<ResponseBody> call;
+        int readers;
+        boolean cancelled;
+
+        Download(boolean prefetch) {
+            this.prefetch = prefetch;
+        }
+    }
+
+    // get() blocks and belongs on a background thread; cancel() may be called from
+    // any thread. Concurrent reads of one version share a download, run on the
+    // thread of the first. Once no read is waiting for it, a download started by
+    // reads has its HTTP call cancelled, which also frees its scheduler slot;
+    // prefetches run to completion.
+    public final class Load {
+        private final int dishId;
+        private final String imageHash;
+        private final RequestPriority priority;
+        private final String key;
+        // Guarded by the store.
+        private Download joined;
+        private CompletableFuture<File> waiting;
+        private boolean cancelled;
+
+        private Load(int dishId, String imageHash, RequestPriority priority) {
+            this.dishId = dishId;
+            this.imageHash = imageHash;
+            this.priority = priority;
+            this.key = key(dishId, imageHash);
+        }
+
+        public File get() throws IOException {
+            while (true) {
+                Download download;
+                CompletableFuture<File> result;
+                boolean owner = false;
+                synchronized (DishImageStore.this) {
+                    if (cancelled) {
+                        throw new IOException("Canceled");
+                    }
+                    File file = peek(dishId, imageHash);
+                    if (file != null) {
+                        return file;
+                    }
+                    download = downloads.get(key);
+                    if (download == null || download.cancelled) {
+                        // A cancelled download is still unwinding; start a fresh one
+                        // rather than inherit its failure.
+                        download = new Download(false);
+                        downloads.put(key, download);
+                        owner = true;
+                    }
+                    download.readers++;
+                    joined = download;
+                    // A view of the result that this read alone can cancel.
+                    waiting = download.result.thenApply(Function.identity());
+                    result = waiting;
+                }
+                try {
+                    if (owner) {
+                        run(key, download, dishId, imageHash, priority);
+                    }
+                    File file = await(result);
+                    if (file != null) {
+                        return file;
+                    }
+                    // Joined a prefetch that did not fit; a read downloads regardless.
+                } finally {
+                    leave(download);
+                }
+            }
+        }
+
+        public void cancel() {
+            Call<ResponseBody> call = null;
+            synchronized (DishImageStore.this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                if (joined == null) {
+                    return;
+                }
+                waiting.cancel(false);
+                if (--joined.readers == 0 && !joined.prefetch && !joined.result.isDone()) {
+                    joined.cancelled = true;
+                    call = joined.call;
+                }
+            }
+            if (call != null) {
+                call.cancel();
+            }
+        }
+
+        private void leave(Download download) {
+            synchronized (DishImageStore.this) {
+                if (joined == download) {
+                    joined = null;
+                    waiting = null;
+                    if (!cancelled) {
+                        download.readers--;
+                    }
+                }
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            builder.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return builder.toString();
+    }
+}
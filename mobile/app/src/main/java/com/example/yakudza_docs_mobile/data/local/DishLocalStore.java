@@ -0,0 +1,179 @@
+package com.example.yakudza_docs_mobile.data.local;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.yakudza_docs_mobile.data.api.json.DishJson;
+import com.example.yakudza_docs_mobile.data.model.DishChanges;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+public class DishLocalStore {
+    private static final String TAG = "DishLocalStore";
+    private static final String DIR_NAME = "dish_store";
+    // Cursors and adaptive page sizes keep producing new page keys; only the most
+    // recently used pages are worth keeping for the next cold start.
+    private static final int MAX_PAGE_FILES = 64;
+
+    private static DishLocalStore instance;
+
+    private final File pagesDir;
+    private final File detailsDir;
+    private final File catalogFile;
+    private final Gson gson = DishJson.gson();
+
+    private DishLocalStore(Context context) {
+        File root = new File(context.getFilesDir(), DIR_NAME);
+        this.pagesDir = new File(root, "pages");
+        this.detailsDir = new File(root, "details");
+        this.catalogFile = new File(root, "catalog.json");
+    }
+
+    public static synchronized DishLocalStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new DishLocalStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    public DishesResponse getPage(String cursor, int pageSize) {
+        File file = pageFile(cursor, pageSize);
+        DishesResponse page = read(file, DishesResponse.class);
+        if (page != null) {
+            touch(file);
+        }
+        return page;
+    }
+
+    public void putPage(String cursor, int pageSize, DishesResponse response) {
+        write(pageFile(cursor, pageSize), response);
+        trimPages();
+    }
+
+    public DishDetail getDetail(int dishId) {
+        return read(detailFile(dishId), DishDetail.class);
+    }
+
+    public void putDetail(DishDetail detail) {
+        write(detailFile(detail.getId()), detail);
+    }
+
+    public void deleteDetail(int dishId) {
+        delete(detailFile(dishId));
+    }
+
+    // The synced catalog is stored as one snapshot: every dish as an upsert,
+    // together with the sync token it is current as of.
+    public DishChanges getCatalog() {
+        return read(catalogFile, DishChanges.class);
+    }
+
+    public void putCatalog(DishChanges catalog) {
+        write(catalogFile, catalog);
+    }
+
+    public List<DishesResponse> getAllPages() {
+        return readAll(pagesDir, DishesResponse.class);
+    }
+
+    public List<DishDetail> getAllDetails() {
+        return readAll(detailsDir, DishDetail.class);
+    }
+
+    private File pageFile(String cursor, int pageSize) {
+        String key = cursor == null
+                ? "start"
+                : UUID.nameUUIDFromBytes(cursor.getBytes(StandardCharsets.UTF_8)).toString();
+        return new File(pagesDir, "feed_" + key + "_" + pageSize + ".json");
+    }
+
+    private File detailFile(int dishId) {
+        return new File(detailsDir, "dish_" + dishId + ".json");
+    }
+
+    private synchronized <T> T read(File file, Class<T> type) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, type);
+        } catch (IOException | JsonParseException e) {
+            Log.w(TAG, "Dropping unreadable entry " + file.getName(), e);
+            file.delete();
+            return null;
+        }
+    }
+
+    private <T> List<T> readAll(File dir, Class<T> type) {
+        List<T> result = new ArrayList<>();
+        File[] files = dir.listFiles((parent, name) -> name.endsWith(".json"));
+        if (files == null) {
+            return result;
+        }
+        for (File file : files) {
+            T value = read(file, type);
+            if (value != null) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    private synchronized void touch(File file) {
+        file.setLastModified(System.currentTimeMillis());
+    }
+
+    // Drops the least recently used pages once there are more than MAX_PAGE_FILES.
+    private synchronized void trimPages() {
+        File[] files = pagesDir.listFiles((parent, name) -> name.endsWith(".json"));
+        if (files == null || files.length <= MAX_PAGE_FILES) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i < files.length - MAX_PAGE_FILES; i++) {
+            delete(files[i]);
+        }
+    }
+
+    private synchronized void delete(File file) {
+        if (file.exists() && !file.delete()) {
+            Log.w(TAG, "Failed to delete " + file.getName());
+        }
+    }
+
+    private synchronized void write(File file, Object value) {
+        File dir = file.getParentFile();
+        if (dir != null && !dir.exists() && !dir.mkdirs()) {
+            Log.w(TAG, "Cannot create " + dir);
+            return;
+        }
+        File tmp = new File(dir, file.getName() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+            gson.toJson(value, writer);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write " + file.getName(), e);
+            tmp.delete();
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            tmp.delete();
+        }
+    }
+}
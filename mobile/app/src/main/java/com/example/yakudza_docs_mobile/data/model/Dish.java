@@ -5,6 +5,8 @@ public class Dish {
     private String name;
     private String description;
     private boolean hasImage;
+    private String imageHash;
+    private String imagePlaceholder;
 
     public int getId() {
         return id;
@@ -37,4 +39,20 @@ public class Dish {
     public void setHasImage(boolean hasImage) {
         this.hasImage = hasImage;
     }
+
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public String getImagePlaceholder() {
+        return imagePlaceholder;
+    }
+
+    public void setImagePlaceholder(String imagePlaceholder) {
+        this.imagePlaceholder = imagePlaceholder;
+    }
 }
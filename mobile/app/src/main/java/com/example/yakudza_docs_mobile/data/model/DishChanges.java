@@ -0,0 +1,42 @@
+package com.example.yakudza_docs_mobile.data.model;
+
+import java.util.List;
+
+public class DishChanges {
+    private List<DishDetail> upserted;
+    private List<Integer> deleted;
+    private String syncToken;
+    private boolean hasMore;
+
+    public List<DishDetail> getUpserted() {
+        return upserted;
+    }
+
+    public void setUpserted(List<DishDetail> upserted) {
+        this.upserted = upserted;
+    }
+
+    public List<Integer> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Integer> deleted) {
+        this.deleted = deleted;
+    }
+
+    public String getSyncToken() {
+        return syncToken;
+    }
+
+    public void setSyncToken(String syncToken) {
+        this.syncToken = syncToken;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -7,6 +7,7 @@ public class DishesResponse {
     private int totalCount;
     private int page;
     private int pageSize;
+    private String nextCursor;
 
     public List<Dish> getItems() {
         return items;
@@ -39,4 +40,12 @@ public class DishesResponse {
     public void setPageSize(int pageSize) {
         this.pageSize = pageSize;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
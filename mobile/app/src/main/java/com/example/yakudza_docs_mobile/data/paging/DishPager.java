@@ -0,0 +1,279 @@
+package com.example.yakudza_docs_mobile.data.paging;
+
+import android.os.SystemClock;
+
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+import com.example.yakudza_docs_mobile.data.repository.Cancellable;
+import com.example.yakudza_docs_mobile.data.repository.DataCallback;
+import com.example.yakudza_docs_mobile.data.repository.DishRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Keeps only the pages near the viewport in memory. Pages outside the window
+// keep their size and start cursor but drop their items, which are published as
+// null placeholders so adapter positions stay stable; scrolling back reloads
+// them from the same cursor.
+public class DishPager {
+    public static final int DEFAULT_PREFETCH_DISTANCE = 10;
+
+    private static final int[] PAGE_SIZES = {10, 20, 40, 80};
+    private static final long FAST_SCROLL_WINDOW_MS = 3000;
+    private static final int WINDOW_MARGIN_ITEMS = 120;
+    private static final long RELOAD_RETRY_MS = 5000;
+
+    public interface Listener {
+        void onItemsChanged(List<Dish> items);
+
+        void onRefreshingChanged(boolean refreshing);
+
+        void onError(String message);
+    }
+
+    private final DishRepository repository;
+    private final int prefetchDistance;
+    private final Listener listener;
+
+    private final List<Page> pages = new ArrayList<>();
+    private String search;
+    private int generation;
+    private String nextCursor;
+    private int loadedCount;
+    private boolean inFlight;
+    private Cancellable inFlightRequest = Cancellable.NONE;
+    private boolean endReached;
+    private int pageSizeIndex;
+    private long lastPageLoadedAt;
+    private int firstVisible;
+    private int lastVisible;
+
+    public DishPager(DishRepository repository, int prefetchDistance, Listener listener) {
+        this.repository = repository;
+        this.prefetchDistance = prefetchDistance;
+        this.listener = listener;
+    }
+
+    public void refresh(String search) {
+        cancel();
+        this.search = search;
+        nextCursor = null;
+        endReached = false;
+        pageSizeIndex = 0;
+        listener.onRefreshingChanged(true);
+        load(0, null);
+    }
+
+    public void cancel() {
+        generation++;
+        inFlightRequest.cancel();
+        inFlightRequest = Cancellable.NONE;
+        inFlight = false;
+        for (Page page : pages) {
+            page.reload.cancel();
+            page.reload = Cancellable.NONE;
+        }
+    }
+
+    public void onVisibleRangeChanged(int firstVisiblePosition, int lastVisiblePosition) {
+        firstVisible = Math.max(firstVisiblePosition, 0);
+        lastVisible = Math.max(lastVisiblePosition, firstVisible);
+        updateWindow();
+        if (lastVisiblePosition >= loadedCount - 1 - prefetchDistance) {
+            loadMore();
+        }
+    }
+
+    public void loadMore() {
+        if (inFlight || endReached) {
+            return;
+        }
+        if (SystemClock.elapsedRealtime() - lastPageLoadedAt < FAST_SCROLL_WINDOW_MS
+                && pageSizeIndex < PAGE_SIZES.length - 1) {
+            pageSizeIndex++;
+        }
+        load(pages.size(), nextCursor);
+    }
+
+    private void load(int pageIndex, String cursor) {
+        int pageSize = PAGE_SIZES[pageSizeIndex];
+        int requestGeneration = generation;
+        inFlight = true;
+
+        Cancellable request = repository.getDishes(cursor, pageSize, search, new DataCallback<DishesResponse>() {
+            private DishesResponse cached;
+
+            @Override
+            public void onData(DishesResponse data, boolean fromCache) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                showPage(pageIndex, new Page(cursor, pageSize, data));
+                if (fromCache) {
+                    cached = data;
+                } else {
+                    complete(pageIndex, data);
+                }
+            }
+
+            @Override
+            public void onError(String message) {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                listener.onError(message);
+                if (cached != null) {
+                    complete(pageIndex, cached);
+                } else {
+                    inFlight = false;
+                    inFlightRequest = Cancellable.NONE;
+                    if (pageIndex == 0) {
+                        listener.onRefreshingChanged(false);
+                    }
+                }
+            }
+        });
+        if (inFlight && requestGeneration == generation) {
+            inFlightRequest = request;
+        }
+    }
+
+    private void showPage(int pageIndex, Page page) {
+        if (pageIndex == 0) {
+            pages.clear();
+        }
+        if (pageIndex < pages.size()) {
+            pages.set(pageIndex, page);
+        } else {
+            pages.add(page);
+        }
+        publish();
+    }
+
+    private void updateWindow() {
+        boolean dropped = false;
+        int offset = 0;
+        for (int i = 0; i < pages.size(); i++) {
+            Page page = pages.get(i);
+            boolean inWindow = offset + page.size > firstVisible - WINDOW_MARGIN_ITEMS
+                    && offset <= lastVisible + WINDOW_MARGIN_ITEMS;
+            if (!inWindow && page.items != null) {
+                page.items = null;
+                page.reload.cancel();
+                page.reload = Cancellable.NONE;
+                dropped = true;
+            } else if (inWindow && page.items == null && page.reload == Cancellable.NONE
+                    && SystemClock.elapsedRealtime() - page.reloadFailedAt >= RELOAD_RETRY_MS) {
+                reload(page);
+            }
+            offset += page.size;
+        }
+        if (dropped) {
+            publish();
+        }
+    }
+
+    private void reload(Page page) {
+        ReloadCallback callback = new ReloadCallback(page, generation);
+        Cancellable request = repository.getDishes(page.startCursor, page.pageSize, search, callback);
+        if (!callback.finished) {
+            page.reload = request;
+        }
+    }
+
+    private void publish() {
+        List<Dish> all = new ArrayList<>();
+        for (Page page : pages) {
+            if (page.items != null) {
+                all.addAll(page.items);
+            } else {
+                all.addAll(Collections.nCopies(page.size, null));
+            }
+        }
+        loadedCount = all.size();
+        listener.onItemsChanged(Collections.unmodifiableList(all));
+    }
+
+    private void complete(int pageIndex, DishesResponse response) {
+        inFlight = false;
+        inFlightRequest = Cancellable.NONE;
+        lastPageLoadedAt = SystemClock.elapsedRealtime();
+        nextCursor = response.getNextCursor();
+        updateWindow();
+        endReached = nextCursor == null;
+        if (pageIndex == 0) {
+            listener.onRefreshingChanged(false);
+        }
+    }
+
+    // Every later page's adapter positions depend on this page's size, so a reload
+    // that comes back longer or shorter (dishes added or removed since) is trimmed or
+    // padded with placeholders rather than shifting the rest of the list.
+    private static List<Dish> fitToSize(List<Dish> items, int size) {
+        if (items.size() == size) {
+            return items;
+        }
+        List<Dish> fitted = new ArrayList<>(items.subList(0, Math.min(items.size(), size)));
+        while (fitted.size() < size) {
+            fitted.add(null);
+        }
+        return fitted;
+    }
+
+    private static final class Page {
+        final String startCursor;
+        final int pageSize;
+        final int size;
+        List<Dish> items;
+        Cancellable reload = Cancellable.NONE;
+        long reloadFailedAt = Long.MIN_VALUE / 2;
+
+        Page(String startCursor, int pageSize, DishesResponse response) {
+            this.startCursor = startCursor;
+            this.pageSize = pageSize;
+            this.items = response.getItems();
+            this.size = items.size();
+        }
+    }
+
+    private class ReloadCallback implements DataCallback<DishesResponse> {
+        private final Page page;
+        private final int requestGeneration;
+        private boolean finished;
+
+        ReloadCallback(Page page, int requestGeneration) {
+            this.page = page;
+            this.requestGeneration = requestGeneration;
+        }
+
+        @Override
+        public void onData(DishesResponse data, boolean fromCache) {
+            if (!fromCache) {
+                finish();
+            }
+            if (requestGeneration != generation || !pages.contains(page)) {
+                return;
+            }
+            page.items = fitToSize(data.getItems(), page.size);
+            publish();
+        }
+
+        @Override
+        public void onError(String message) {
+            finish();
+            if (requestGeneration != generation) {
+                return;
+            }
+            page.reloadFailedAt = SystemClock.elapsedRealtime();
+            if (page.items == null) {
+                listener.onError(message);
+            }
+        }
+
+        private void finish() {
+            finished = true;
+            page.reload = Cancellable.NONE;
+        }
+    }
+}
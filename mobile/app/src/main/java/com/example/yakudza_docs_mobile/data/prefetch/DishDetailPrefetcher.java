@@ -0,0 +1,122 @@
+package com.example.yakudza_docs_mobile.data.prefetch;
+
+import android.net.ConnectivityManager;
+
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.example.yakudza_docs_mobile.data.repository.Cancellable;
+import com.example.yakudza_docs_mobile.data.repository.DataCallback;
+import com.example.yakudza_docs_mobile.data.repository.DishRepository;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Main-thread only. Keeps details warm for whatever the feed currently shows;
+// each new visible set replaces the previous one, cancelling work for dishes
+// that scrolled away.
+public class DishDetailPrefetcher {
+    private static final int MAX_QUEUED = 12;
+    private static final int MAX_QUEUED_METERED = 3;
+    private static final int MAX_CONCURRENT = 2;
+    private static final int MAX_CONCURRENT_METERED = 1;
+
+    private final DishRepository dishRepository;
+    private final ConnectivityManager connectivityManager;
+    private final ArrayDeque<Integer> queue = new ArrayDeque<>();
+    private final Map<Integer, Cancellable> inFlight = new HashMap<>();
+
+    public DishDetailPrefetcher(DishRepository dishRepository, ConnectivityManager connectivityManager) {
+        this.dishRepository = dishRepository;
+        this.connectivityManager = connectivityManager;
+    }
+
+    public void setVisibleDishes(List<Integer> dishIds) {
+        boolean metered = isMetered();
+        int limit = metered ? MAX_QUEUED_METERED : MAX_QUEUED;
+        Set<Integer> wanted = new LinkedHashSet<>();
+        for (Integer dishId : dishIds) {
+            if (wanted.size() >= limit) {
+                break;
+            }
+            if (!dishRepository.hasCachedDishDetail(dishId)) {
+                wanted.add(dishId);
+            }
+        }
+
+        Iterator<Map.Entry<Integer, Cancellable>> running = inFlight.entrySet().iterator();
+        while (running.hasNext()) {
+            Map.Entry<Integer, Cancellable> entry = running.next();
+            if (!wanted.contains(entry.getKey())) {
+                entry.getValue().cancel();
+                running.remove();
+            }
+        }
+
+        queue.clear();
+        for (Integer dishId : wanted) {
+            if (!inFlight.containsKey(dishId)) {
+                queue.add(dishId);
+            }
+        }
+        drain(metered);
+    }
+
+    public void cancel() {
+        setVisibleDishes(Collections.emptyList());
+    }
+
+    private void drain(boolean metered) {
+        int maxConcurrent = metered ? MAX_CONCURRENT_METERED : MAX_CONCURRENT;
+        while (inFlight.size() < maxConcurrent && !queue.isEmpty()) {
+            int dishId = queue.poll();
+            PrefetchCallback callback = new PrefetchCallback(dishId);
+            Cancellable request = dishRepository.prefetchDishDetail(dishId, callback);
+            if (!callback.finished) {
+                inFlight.put(dishId, request);
+            }
+        }
+    }
+
+    private boolean isMetered() {
+        return connectivityManager == null || connectivityManager.isActiveNetworkMetered();
+    }
+
+    private void onFinished(int dishId) {
+        if (inFlight.remove(dishId) != null) {
+            drain(isMetered());
+        }
+    }
+
+    private class PrefetchCallback implements DataCallback<DishDetail> {
+        private final int dishId;
+        private boolean finished;
+
+        PrefetchCallback(int dishId) {
+            this.dishId = dishId;
+        }
+
+        @Override
+        public void onData(DishDetail data, boolean fromCache) {
+            if (!fromCache) {
+                finish();
+            }
+        }
+
+        @Override
+        public void onError(String message) {
+            finish();
+        }
+
+        private void finish() {
+            if (!finished) {
+                finished = true;
+                onFinished(dishId);
+            }
+        }
+    }
+}
@@ -1,23 +1,22 @@
 package com.example.yakudza_docs_mobile.data.repository;
 
-import android.content.Context;
-
 import com.example.yakudza_docs_mobile.data.api.ApiService;
-import com.example.yakudza_docs_mobile.data.api.RetrofitClient;
 import com.example.yakudza_docs_mobile.data.auth.TokenManager;
 import com.example.yakudza_docs_mobile.data.model.LoginRequest;
 import com.example.yakudza_docs_mobile.data.model.LoginResponse;
 
+import java.util.concurrent.CompletableFuture;
+
 import retrofit2.Call;
 import retrofit2.Callback;
 
 public class AuthRepository {
     private final ApiService apiService;
-    private final TokenManager tokenManager;
+    private final CompletableFuture<TokenManager> tokenManager;
 
-    public AuthRepository(Context context) {
-        this.tokenManager = new TokenManager(context);
-        this.apiService = RetrofitClient.getInstance(tokenManager).getApiService();
+    public AuthRepository(ApiService apiService, CompletableFuture<TokenManager> tokenManager) {
+        this.apiService = apiService;
+        this.tokenManager = tokenManager;
     }
 
     public void login(String username, String password, Callback<LoginResponse> callback) {
@@ -27,14 +26,10 @@ public class AuthRepository {
     }
 
     public void saveToken(String token) {
-        tokenManager.saveToken(token);
-    }
-
-    public boolean isLoggedIn() {
-        return tokenManager.hasToken();
+        tokenManager.thenAccept(manager -> manager.saveToken(token));
     }
 
     public void logout() {
-        tokenManager.clearToken();
+        tokenManager.thenAccept(TokenManager::clearToken);
     }
 }
@@ -0,0 +1,8 @@
+package com.example.yakudza_docs_mobile.data.repository;
+
+public interface Cancellable {
+    Cancellable NONE = () -> {
+    };
+
+    void cancel();
+}
@@ -0,0 +1,7 @@
+package com.example.yakudza_docs_mobile.data.repository;
+
+public interface DataCallback<T> {
+    void onData(T data, boolean fromCache);
+
+    void onError(String message);
+}
@@ -0,0 +1,219 @@
+package com.example.yakudza_docs_mobile.data.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.yakudza_docs_mobile.data.api.ApiService;
+import com.example.yakudza_docs_mobile.data.api.scheduling.RequestPriority;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+// Main-thread only, like RequestCoalescer, which already guarantees at most one
+// pending request per dish id and priority. Requests of the same priority arriving
+// within BATCH_WINDOW_MS go out together as GET dishes/batch; a lone id still uses
+// GET dishes/{id}.
+class DishDetailBatcher {
+    private static final long BATCH_WINDOW_MS = 16;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final String FAILURE_MESSAGE = "Failed to load dish details";
+
+    private final ApiService apiService;
+    private final Timer timer;
+    private final Runnable flush = this::flush;
+    private final Map<RequestPriority, Map<Integer, Waiter>> pending = new EnumMap<>(RequestPriority.class);
+    private int pendingCount;
+
+    DishDetailBatcher(ApiService apiService) {
+        this(apiService, mainThreadTimer());
+    }
+
+    DishDetailBatcher(ApiService apiService, Timer timer) {
+        this.apiService = apiService;
+        this.timer = timer;
+    }
+
+    interface Timer {
+        void schedule(Runnable task, long delayMs);
+
+        void cancel(Runnable task);
+    }
+
+    private static Timer mainThreadTimer() {
+        Handler handler = new Handler(Looper.getMainLooper());
+        return new Timer() {
+            @Override
+            public void schedule(Runnable task, long delayMs) {
+                handler.postDelayed(task, delayMs);
+            }
+
+            @Override
+            public void cancel(Runnable task) {
+                handler.removeCallbacks(task);
+            }
+        };
+    }
+
+    Cancellable request(int dishId, RequestPriority priority, DataCallback<DishDetail> callback) {
+        Waiter waiter = new Waiter(dishId, priority, callback);
+        if (pendingCount == 0) {
+            timer.schedule(flush, BATCH_WINDOW_MS);
+        }
+        Map<Integer, Waiter> waiters = pending.get(priority);
+        if (waiters == null) {
+            waiters = new LinkedHashMap<>();
+            pending.put(priority, waiters);
+        }
+        if (waiters.put(dishId, waiter) == null) {
+            pendingCount++;
+        }
+        return () -> cancel(waiter);
+    }
+
+    private void cancel(Waiter waiter) {
+        if (waiter.cancelled) {
+            return;
+        }
+        waiter.cancelled = true;
+        if (waiter.batch != null) {
+            waiter.batch.onWaiterCancelled();
+        } else {
+            Map<Integer, Waiter> waiters = pending.get(waiter.priority);
+            if (waiters != null && waiters.remove(waiter.dishId, waiter) && --pendingCount == 0) {
+                timer.cancel(flush);
+            }
+        }
+    }
+
+    private void flush() {
+        for (Map.Entry<RequestPriority, Map<Integer, Waiter>> entry : pending.entrySet()) {
+            List<Waiter> waiters = new ArrayList<>(entry.getValue().values());
+            for (int start = 0; start < waiters.size(); start += MAX_BATCH_SIZE) {
+                List<Waiter> chunk = waiters.subList(start, Math.min(start + MAX_BATCH_SIZE, waiters.size()));
+                dispatch(new Batch(chunk), entry.getKey());
+            }
+        }
+        pending.clear();
+        pendingCount = 0;
+    }
+
+    private void dispatch(Batch batch, RequestPriority priority) {
+        if (batch.waiters.size() == 1) {
+            Call<DishDetail> call = apiService.getDishDetail(batch.waiters.get(0).dishId, priority);
+            batch.call = call;
+            call.enqueue(new Callback<DishDetail>() {
+                @Override
+                public void onResponse(Call<DishDetail> call, Response<DishDetail> response) {
+                    DishDetail body = response.body();
+                    if (response.isSuccessful() && body != null) {
+                        batch.deliver(Collections.singletonList(body));
+                    } else {
+                        batch.fail(FAILURE_MESSAGE);
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<DishDetail> call, Throwable t) {
+                    batch.fail("Network error: " + t.getMessage());
+                }
+            });
+            return;
+        }
+
+        List<Integer> ids = new ArrayList<>(batch.waiters.size());
+        for (Waiter waiter : batch.waiters) {
+            ids.add(waiter.dishId);
+        }
+        Call<List<DishDetail>> call = apiService.getDishDetails(ids, priority);
+        batch.call = call;
+        call.enqueue(new Callback<List<DishDetail>>() {
+            @Override
+            public void onResponse(Call<List<DishDetail>> call, Response<List<DishDetail>> response) {
+                List<DishDetail> body = response.body();
+                if (response.isSuccessful() && body != null) {
+                    batch.deliver(body);
+                } else {
+                    batch.fail(FAILURE_MESSAGE);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<List<DishDetail>> call, Throwable t) {
+                batch.fail("Network error: " + t.getMessage());
+            }
+        });
+    }
+
+    private static class Waiter {
+        final int dishId;
+        final RequestPriority priority;
+        final DataCallback<DishDetail> callback;
+        Batch batch;
+        boolean cancelled;
+
+        Waiter(int dishId, RequestPriority priority, DataCallback<DishDetail> callback) {
+            this.dishId = dishId;
+            this.priority = priority;
+            this.callback = callback;
+        }
+    }
+
+    private static class Batch {
+        final List<Waiter> waiters;
+        Call<?> call;
+        int live;
+
+        Batch(List<Waiter> waiters) {
+            this.waiters = new ArrayList<>(waiters);
+            this.live = waiters.size();
+            for (Waiter waiter : this.waiters) {
+                waiter.batch = this;
+            }
+        }
+
+        void onWaiterCancelled() {
+            live--;
+            if (live == 0 && call != null) {
+                call.cancel();
+            }
+        }
+
+        void deliver(List<DishDetail> details) {
+            Map<Integer, DishDetail> byId = new HashMap<>();
+            for (DishDetail detail : details) {
+                if (detail != null) {
+                    byId.put(detail.getId(), detail);
+                }
+            }
+            for (Waiter waiter : waiters) {
+                if (waiter.cancelled) {
+                    continue;
+                }
+                DishDetail detail = byId.get(waiter.dishId);
+                if (detail != null) {
+                    waiter.callback.onData(detail, false);
+                } else {
+                    waiter.callback.onError(FAILURE_MESSAGE);
+                }
+            }
+        }
+
+        void fail(String message) {
+            for (Waiter waiter : waiters) {
+                if (!waiter.cancelled) {
+                    waiter.callback.onError(message);
+                }
+            }
+        }
+    }
+}
@@ -1,37 +1,319 @@
 package com.example.yakudza_docs_mobile.data.repository;
 
-import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 
 import com.example.yakudza_docs_mobile.data.api.ApiService;
-import com.example.yakudza_docs_mobile.data.api.RetrofitClient;
-import com.example.yakudza_docs_mobile.data.auth.TokenManager;
+import com.example.yakudza_docs_mobile.data.api.scheduling.RequestPriority;
+import com.example.yakudza_docs_mobile.data.image.DishImageStore;
+import com.example.yakudza_docs_mobile.data.local.DishLocalStore;
+import com.example.yakudza_docs_mobile.data.model.Dish;
 import com.example.yakudza_docs_mobile.data.model.DishDetail;
 import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+import com.example.yakudza_docs_mobile.data.search.DishSearchIndex;
+import com.example.yakudza_docs_mobile.data.store.DishEntityStore;
+import com.example.yakudza_docs_mobile.data.sync.DishSyncEngine;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
-import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
+import retrofit2.Response;
 
 public class DishRepository {
+    private static final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+    private static final RequestCoalescer coalescer = new RequestCoalescer();
+    private static final AtomicBoolean searchIndexRestored = new AtomicBoolean();
+
     private final ApiService apiService;
+    private final DishLocalStore localStore;
+    private final DishEntityStore entityStore;
+    private final DishImageStore imageStore;
+    private final DishDetailBatcher detailBatcher;
+    private final DishSyncEngine syncEngine;
+    private String catalogWalkCursor;
+    private final Set<Integer> catalogWalkIds = new HashSet<>();
+    private final DishSearchIndex searchIndex = DishSearchIndex.getInstance();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    public DishRepository(ApiService apiService, DishLocalStore localStore, DishEntityStore entityStore,
+                          DishImageStore imageStore) {
+        this.apiService = apiService;
+        this.localStore = localStore;
+        this.entityStore = entityStore;
+        this.imageStore = imageStore;
+        this.detailBatcher = new DishDetailBatcher(apiService);
+        this.syncEngine = new DishSyncEngine(apiService, localStore, entityStore, searchIndex, diskExecutor);
+        if (searchIndexRestored.compareAndSet(false, true)) {
+            diskExecutor.execute(this::restoreSearchIndex);
+        }
+    }
+
+    public Cancellable getDishes(String cursor, int pageSize, String search, DataCallback<DishesResponse> callback) {
+        if (search == null && syncEngine.isReady()) {
+            return getCatalogPage(cursor, pageSize, callback);
+        }
+        if (search == null && cursor == null) {
+            syncEngine.bootstrap();
+        }
+        String key = "dishes/feed?cursor=" + cursor + "&pageSize=" + pageSize + "&search=" + search;
+        RequestPriority priority = search != null ? RequestPriority.USER_INITIATED : RequestPriority.VISIBLE_PAGE;
+        Supplier<Call<DishesResponse>> call = () -> apiService.getDishFeed(cursor, pageSize, search, priority);
+        DataCallback<DishesResponse> storing = storing(callback, response -> entityStore.putAll(response.getItems()));
+        if (search != null) {
+            return coalescer.execute(key, viaCall(call, "Failed to load dishes", null), storing);
+        }
+        return staleWhileRevalidate(
+                () -> localStore.getPage(cursor, pageSize),
+                key,
+                viaCall(call, "Failed to load dishes", fresh -> {
+                    localStore.putPage(cursor, pageSize, fresh);
+                    searchIndex.putDishes(fresh.getItems());
+                    trackCatalogWalk(cursor, fresh);
+                }),
+                storing
+        );
+    }
+
+    // Pages cut from a catalog that has not been synced in this process are stale
+    // copies: they are delivered as cached and followed by the same page after a
+    // background delta sync, like any other stale-while-revalidate read.
+    private Cancellable getCatalogPage(String cursor, int pageSize, DataCallback<DishesResponse> callback) {
+        DishesResponse page = syncEngine.page(cursor, pageSize);
+        entityStore.putAll(page.getItems());
+        if (syncEngine.isCurrent()) {
+            callback.onData(page, false);
+            return Cancellable.NONE;
+        }
+        callback.onData(page, true);
+        return syncEngine.sync(RequestPriority.BACKGROUND, new DataCallback<Integer>() {
+            @Override
+            public void onData(Integer changed, boolean fromCache) {
+                DishesResponse fresh = syncEngine.page(cursor, pageSize);
+                entityStore.putAll(fresh.getItems());
+                callback.onData(fresh, false);
+            }
+
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+        });
+    }
+
+    public boolean hasSyncedCatalog() {
+        return syncEngine.isReady();
+    }
+
+    // Pulls only the dishes changed since the last sync into the local catalog;
+    // reports how many changed so callers can skip redrawing when nothing did.
+    public Cancellable syncCatalog(DataCallback<Integer> callback) {
+        return syncEngine.sync(RequestPriority.USER_INITIATED, callback);
+    }
+
+    public Cancellable getDishDetail(int dishId, DataCallback<DishDetail> callback) {
+        return getDishDetail(dishId, RequestPriority.USER_INITIATED, callback);
+    }
+
+    public Cancellable prefetchDishDetail(int dishId, DataCallback<DishDetail> callback) {
+        return getDishDetail(dishId, RequestPriority.BACKGROUND, callback);
+    }
+
+    // Coalesced per priority class so a tap never waits behind a queued prefetch
+    // of the same dish.
+    private Cancellable getDishDetail(int dishId, RequestPriority priority, DataCallback<DishDetail> callback) {
+        return staleWhileRevalidate(
+                () -> localStore.getDetail(dishId),
+                "dishes/" + dishId + "#" + priority,
+                shared -> detailBatcher.request(dishId, priority, writingThrough(shared, fresh -> {
+                    localStore.putDetail(fresh);
+                    searchIndex.putDetail(fresh);
+                })),
+                storing(callback, entityStore::put)
+        );
+    }
+
+    public Dish getCachedDish(int dishId) {
+        return entityStore.get(dishId);
+    }
 
-    public DishRepository(Context context) {
-        TokenManager tokenManager = new TokenManager(context);
-        this.apiService = RetrofitClient.getInstance(tokenManager).getApiService();
+    public DishDetail getCachedDishDetail(int dishId) {
+        return entityStore.getDetail(dishId);
     }
 
-    public void getDishes(int page, int pageSize, String search, Callback<DishesResponse> callback) {
-        Call<DishesResponse> call = apiService.getDishes(page, pageSize, search);
-        call.enqueue(callback);
+    public boolean hasCachedDishDetail(int dishId) {
+        return entityStore.getDetail(dishId) != null;
     }
 
-    public void getDishDetail(int dishId, Callback<DishDetail> callback) {
-        Call<DishDetail> call = apiService.getDishDetail(dishId);
-        call.enqueue(callback);
+    public boolean canSearchLocally() {
+        return searchIndex.isFresh();
     }
 
-    public void getDishImage(int dishId, Callback<ResponseBody> callback) {
-        Call<ResponseBody> call = apiService.getDishImage(dishId);
-        call.enqueue(callback);
+    public List<Dish> searchLocally(String query) {
+        return searchIndex.search(query);
+    }
+
+    // Downloads current images of synced dishes that are not on disk yet, while
+    // they fit in the store's free space; versions already stored or queued cost nothing.
+    public void prefetchCatalogImages() {
+        List<DishDetail> catalog = syncEngine.getCatalog();
+        if (catalog != null) {
+            imageStore.prefetch(catalog);
+        }
+    }
+
+    // Runs on diskExecutor. The feed no longer reports a total, so the catalog
+    // size becomes known once the unfiltered feed has been read start to end;
+    // dishes the walk did not see have been deleted on the server.
+    private void trackCatalogWalk(String cursor, DishesResponse page) {
+        if (cursor != null && !cursor.equals(catalogWalkCursor)) {
+            return;
+        }
+        if (cursor == null) {
+            catalogWalkIds.clear();
+        }
+        for (Dish dish : page.getItems()) {
+            catalogWalkIds.add(dish.getId());
+        }
+        catalogWalkCursor = page.getNextCursor();
+        if (catalogWalkCursor == null) {
+            searchIndex.retain(catalogWalkIds);
+            searchIndex.onCatalogSize(catalogWalkIds.size());
+        }
+    }
+
+    private void restoreSearchIndex() {
+        List<Dish> dishes = new ArrayList<>();
+        for (DishesResponse page : localStore.getAllPages()) {
+            dishes.addAll(page.getItems());
+        }
+        searchIndex.restore(dishes, localStore.getAllDetails());
+    }
+
+    private static <T> DataCallback<T> storing(DataCallback<T> callback, Consumer<T> store) {
+        return new DataCallback<T>() {
+            @Override
+            public void onData(T data, boolean fromCache) {
+                store.accept(data);
+                callback.onData(data, fromCache);
+            }
+
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+        };
+    }
+
+    private <T> Cancellable staleWhileRevalidate(Supplier<T> cacheReader, String key,
+                                                 Function<DataCallback<T>, Cancellable> network,
+                                                 DataCallback<T> callback) {
+        RevalidatingCallback<T> revalidating = new RevalidatingCallback<>(callback);
+        diskExecutor.execute(() -> {
+            T cached = cacheReader.get();
+            mainHandler.post(() -> revalidating.onCacheRead(cached));
+        });
+        Cancellable request = coalescer.execute(key, network, revalidating);
+        return () -> {
+            revalidating.cancel();
+            request.cancel();
+        };
+    }
+
+    private <T> Function<DataCallback<T>, Cancellable> viaCall(Supplier<Call<T>> call, String failureMessage,
+                                                                Consumer<T> cacheWriter) {
+        return shared -> enqueue(call.get(), failureMessage, writingThrough(shared, cacheWriter));
+    }
+
+    private <T> DataCallback<T> writingThrough(DataCallback<T> callback, Consumer<T> cacheWriter) {
+        if (cacheWriter == null) {
+            return callback;
+        }
+        return new DataCallback<T>() {
+            @Override
+            public void onData(T data, boolean fromCache) {
+                callback.onData(data, fromCache);
+                diskExecutor.execute(() -> cacheWriter.accept(data));
+            }
+
+            @Override
+            public void onError(String message) {
+                callback.onError(message);
+            }
+        };
+    }
+
+    private <T> Cancellable enqueue(Call<T> call, String failureMessage, DataCallback<T> callback) {
+        call.enqueue(new Callback<T>() {
+            @Override
+            public void onResponse(Call<T> call, Response<T> response) {
+                T body = response.body();
+                if (response.isSuccessful() && body != null) {
+                    callback.onData(body, false);
+                } else {
+                    callback.onError(failureMessage);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<T> call, Throwable t) {
+                callback.onError("Network error: " + t.getMessage());
+            }
+        });
+        return call::cancel;
+    }
+
+    private static class RevalidatingCallback<T> implements DataCallback<T> {
+        private final DataCallback<T> delegate;
+        private boolean cacheRead;
+        private boolean completed;
+        private String pendingError;
+
+        RevalidatingCallback(DataCallback<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        void cancel() {
+            completed = true;
+        }
+
+        void onCacheRead(T cached) {
+            cacheRead = true;
+            if (completed) {
+                return;
+            }
+            if (cached != null) {
+                delegate.onData(cached, true);
+            }
+            if (pendingError != null) {
+                completed = true;
+                delegate.onError(pendingError);
+            }
+        }
+
+        @Override
+        public void onData(T data, boolean fromCache) {
+            completed = true;
+            delegate.onData(data, fromCache);
+        }
+
+        @Override
+        public void onError(String message) {
+            if (!cacheRead) {
+                pendingError = message;
+                return;
+            }
+            completed = true;
+            delegate.onError(message);
+        }
     }
 }
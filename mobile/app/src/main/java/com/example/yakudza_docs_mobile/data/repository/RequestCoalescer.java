@@ -0,0 +1,103 @@
+package com.example.yakudza_docs_mobile.data.repository;
+
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// Callers and request callbacks are expected on the main thread, which is where
+// Retrofit delivers on Android, so no locking is needed.
+class RequestCoalescer {
+    private static final long RESULT_TTL_MS = 2000;
+
+    private final Map<String, Entry<?>> entries = new HashMap<>();
+    private final LongSupplier clock;
+
+    RequestCoalescer() {
+        this(SystemClock::elapsedRealtime);
+    }
+
+    RequestCoalescer(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Cancellable execute(String key, Function<DataCallback<T>, Cancellable> request,
+                            DataCallback<T> callback) {
+        // Completed results are only reused for RESULT_TTL_MS; sweeping here keeps
+        // one-off keys (searches, cursors, details) from pinning their results.
+        long now = clock.getAsLong();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        Entry<T> entry = (Entry<T>) entries.get(key);
+
+        if (entry != null) {
+            if (entry.completed) {
+                callback.onData(entry.result, false);
+                return Cancellable.NONE;
+            }
+            entry.subscribers.add(callback);
+            return unsubscriber(key, entry, callback);
+        }
+
+        Entry<T> newEntry = new Entry<>();
+        newEntry.subscribers.add(callback);
+        entries.put(key, newEntry);
+
+        newEntry.request = request.apply(new DataCallback<T>() {
+            @Override
+            public void onData(T data, boolean fromCache) {
+                newEntry.completed = true;
+                newEntry.result = data;
+                newEntry.completedAt = clock.getAsLong();
+                for (DataCallback<T> subscriber : newEntry.drain()) {
+                    subscriber.onData(data, fromCache);
+                }
+            }
+
+            @Override
+            public void onError(String message) {
+                if (entries.get(key) == newEntry) {
+                    entries.remove(key);
+                }
+                for (DataCallback<T> subscriber : newEntry.drain()) {
+                    subscriber.onError(message);
+                }
+            }
+        });
+        return unsubscriber(key, newEntry, callback);
+    }
+
+    private <T> Cancellable unsubscriber(String key, Entry<T> entry, DataCallback<T> callback) {
+        return () -> {
+            if (!entry.subscribers.remove(callback) || entry.completed || !entry.subscribers.isEmpty()) {
+                return;
+            }
+            if (entries.get(key) == entry) {
+                entries.remove(key);
+            }
+            entry.request.cancel();
+        };
+    }
+
+    private static class Entry<T> {
+        private List<DataCallback<T>> subscribers = new ArrayList<>();
+        private Cancellable request = Cancellable.NONE;
+        private boolean completed;
+        private T result;
+        private long completedAt;
+
+        boolean isExpired(long now) {
+            return completed && now - completedAt > RESULT_TTL_MS;
+        }
+
+        List<DataCallback<T>> drain() {
+            List<DataCallback<T>> drained = subscribers;
+            subscribers = new ArrayList<>();
+            return drained;
+        }
+    }
+}
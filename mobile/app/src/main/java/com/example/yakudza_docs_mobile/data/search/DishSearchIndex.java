@@ -0,0 +1,227 @@
+package com.example.yakudza_docs_mobile.data.search;
+
+import android.os.SystemClock;
+
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.example.yakudza_docs_mobile.data.model.Ingredient;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public class DishSearchIndex {
+    private static final int GRAM = 3;
+    private static final long FRESHNESS_MS = 10 * 60 * 1000;
+    private static final Locale RUSSIAN = new Locale("ru");
+
+    private static DishSearchIndex instance;
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Integer>> grams = new HashMap<>();
+    private int catalogSize = -1;
+    private long catalogCheckedAt;
+
+    public static synchronized DishSearchIndex getInstance() {
+        if (instance == null) {
+            instance = new DishSearchIndex();
+        }
+        return instance;
+    }
+
+    public synchronized void putDishes(Collection<? extends Dish> dishes) {
+        for (Dish dish : dishes) {
+            Entry existing = entries.get(dish.getId());
+            List<String> ingredients = existing != null ? existing.ingredients : null;
+            index(new Entry(dish, ingredients));
+        }
+    }
+
+    public synchronized void putDetail(DishDetail detail) {
+        List<String> ingredients = new ArrayList<>();
+        if (detail.getIngredients() != null) {
+            for (Ingredient ingredient : detail.getIngredients()) {
+                ingredients.add(ingredient.getName());
+            }
+        }
+        index(new Entry(detail, ingredients));
+    }
+
+    public synchronized void restore(Collection<? extends Dish> dishes, Collection<DishDetail> details) {
+        for (Dish dish : dishes) {
+            if (!entries.containsKey(dish.getId())) {
+                index(new Entry(dish, null));
+            }
+        }
+        for (DishDetail detail : details) {
+            Entry existing = entries.get(detail.getId());
+            if (existing == null || existing.ingredients == null) {
+                putDetail(detail);
+            }
+        }
+    }
+
+    public synchronized void retain(Set<Integer> dishIds) {
+        List<Integer> removed = new ArrayList<>();
+        for (Integer id : entries.keySet()) {
+            if (!dishIds.contains(id)) {
+                removed.add(id);
+            }
+        }
+        for (Integer id : removed) {
+            Entry entry = entries.remove(id);
+            for (String gram : entry.grams()) {
+                Set<Integer> posting = grams.get(gram);
+                if (posting != null) {
+                    posting.remove(id);
+                }
+            }
+        }
+    }
+
+    public synchronized void onCatalogSize(int totalCount) {
+        catalogSize = totalCount;
+        catalogCheckedAt = SystemClock.elapsedRealtime();
+    }
+
+    public synchronized boolean isFresh() {
+        if (catalogSize < 0 || SystemClock.elapsedRealtime() - catalogCheckedAt > FRESHNESS_MS) {
+            return false;
+        }
+        // Dishes created after the catalog was counted only make the index larger.
+        if (entries.size() < catalogSize) {
+            return false;
+        }
+        for (Entry entry : entries.values()) {
+            if (entry.ingredients == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public synchronized List<Dish> search(String query) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Entry> matches = new ArrayList<>();
+        for (Entry entry : candidates(needle)) {
+            if (entry.text.contains(needle)) {
+                matches.add(entry);
+            }
+        }
+
+        matches.sort(Comparator
+                .comparingInt((Entry entry) -> entry.rank(needle))
+                .thenComparing(entry -> entry.name));
+
+        List<Dish> result = new ArrayList<>(matches.size());
+        for (Entry entry : matches) {
+            result.add(entry.dish);
+        }
+        return result;
+    }
+
+    private Collection<Entry> candidates(String needle) {
+        if (needle.length() < GRAM) {
+            return entries.values();
+        }
+        Set<Integer> ids = null;
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            Set<Integer> posting = grams.get(needle.substring(i, i + GRAM));
+            if (posting == null) {
+                return Collections.emptyList();
+            }
+            if (ids == null) {
+                ids = new HashSet<>(posting);
+            } else {
+                ids.retainAll(posting);
+            }
+            if (ids.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+        List<Entry> result = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            result.add(entries.get(id));
+        }
+        return result;
+    }
+
+    private void index(Entry entry) {
+        int id = entry.dish.getId();
+        Entry previous = entries.put(id, entry);
+        if (previous != null) {
+            for (String gram : previous.grams()) {
+                Set<Integer> posting = grams.get(gram);
+                if (posting != null) {
+                    posting.remove(id);
+                }
+            }
+        }
+        for (String gram : entry.grams()) {
+            Set<Integer> posting = grams.get(gram);
+            if (posting == null) {
+                posting = new HashSet<>();
+                grams.put(gram, posting);
+            }
+            posting.add(id);
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.trim()
+                .toLowerCase(RUSSIAN)
+                .replace('ё', 'е')
+                .replaceAll("\\s+", " ");
+    }
+
+    private static class Entry {
+        private final Dish dish;
+        private final List<String> ingredients;
+        private final String name;
+        private final String text;
+
+        Entry(Dish dish, List<String> ingredients) {
+            this.dish = dish;
+            this.ingredients = ingredients;
+            this.name = normalize(dish.getName());
+
+            StringBuilder builder = new StringBuilder(name)
+                    .append('\n').append(normalize(dish.getDescription()));
+            if (ingredients != null) {
+                for (String ingredient : ingredients) {
+                    builder.append('\n').append(normalize(ingredient));
+                }
+            }
+            this.text = builder.toString();
+        }
+
+        Set<String> grams() {
+            Set<String> result = new HashSet<>();
+            for (int i = 0; i + GRAM <= text.length(); i++) {
+                result.add(text.substring(i, i + GRAM));
+            }
+            return result;
+        }
+
+        int rank(String needle) {
+            if (name.startsWith(needle)) {
+                return 0;
+            }
+            return name.contains(needle) ? 1 : 2;
+        }
+    }
+}
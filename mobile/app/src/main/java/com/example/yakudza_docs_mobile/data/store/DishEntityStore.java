@@ -0,0 +1,59 @@
+package com.example.yakudza_docs_mobile.data.store;
+
+import android.util.LruCache;
+
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+
+import java.util.List;
+import java.util.Objects;
+
+// One entry per dish id, shared by the feed and detail screens. A detail entry
+// is kept when a list item for the same dish arrives unchanged, and replaced by
+// the list item when its fields differ so stale ingredients are never shown.
+public class DishEntityStore {
+    private static final int MAX_ENTITIES = 500;
+
+    private final LruCache<Integer, Dish> entities = new LruCache<>(MAX_ENTITIES);
+
+    public void putAll(List<Dish> dishes) {
+        if (dishes == null) {
+            return;
+        }
+        for (Dish dish : dishes) {
+            put(dish);
+        }
+    }
+
+    public synchronized void put(Dish dish) {
+        if (dish == null) {
+            return;
+        }
+        Dish existing = entities.get(dish.getId());
+        if (!(dish instanceof DishDetail) && existing instanceof DishDetail && sameSummary(existing, dish)) {
+            return;
+        }
+        entities.put(dish.getId(), dish);
+    }
+
+    public void remove(int dishId) {
+        entities.remove(dishId);
+    }
+
+    public Dish get(int dishId) {
+        return entities.get(dishId);
+    }
+
+    public DishDetail getDetail(int dishId) {
+        Dish dish = entities.get(dishId);
+        return dish instanceof DishDetail ? (DishDetail) dish : null;
+    }
+
+    private static boolean sameSummary(Dish a, Dish b) {
+        return a.isHasImage() == b.isHasImage()
+                && Objects.equals(a.getImageHash(), b.getImageHash())
+                && Objects.equals(a.getImagePlaceholder(), b.getImagePlaceholder())
+                && Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getDescription(), b.getDescription());
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.yakudza_docs_mobile.data.sync;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.example.yakudza_docs_mobile.data.api.ApiService;
+import com.example.yakudza_docs_mobile.data.api.scheduling.RequestPriority;
+import com.example.yakudza_docs_mobile.data.local.DishLocalStore;
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.data.model.DishChanges;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+import com.example.yakudza_docs_mobile.data.repository.Cancellable;
+import com.example.yakudza_docs_mobile.data.repository.DataCallback;
+import com.example.yakudza_docs_mobile.data.search.DishSearchIndex;
+import com.example.yakudza_docs_mobile.data.store.DishEntityStore;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+// Mirrors the whole catalog on the device and keeps it current from the server's
+// change feed, so a refresh downloads only what changed since the last sync.
+// Once a full sync has completed, unfiltered feed pages are cut from the local
+// copy using the same (Name, Id) cursors the server issues.
+//
+// The working copy (dishesById, syncToken) is confined to diskExecutor; the main
+// thread only sees the sorted snapshot published after each completed sync.
+public class DishSyncEngine {
+    private static final int CHANGES_PER_REQUEST = 100;
+    private static final Comparator<Dish> FEED_ORDER = Comparator
+            .comparing(Dish::getName)
+            .thenComparingInt(Dish::getId);
+
+    private final ApiService apiService;
+    private final DishLocalStore localStore;
+    private final DishEntityStore entityStore;
+    private final DishSearchIndex searchIndex;
+    private final Executor diskExecutor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final Map<Integer, DishDetail> dishesById = new HashMap<>();
+    private String syncToken;
+    // Set on diskExecutor when dishesById has changes catalog.json does not have yet;
+    // it survives a failed run so the next completed one still writes them.
+    private boolean catalogDirty;
+
+    private final List<DataCallback<Integer>> waiters = new ArrayList<>();
+    private List<DishDetail> catalog;
+    private boolean current;
+    private boolean running;
+    private RequestPriority runPriority;
+    private int runChanges;
+
+    public DishSyncEngine(ApiService apiService, DishLocalStore localStore, DishEntityStore entityStore,
+                          DishSearchIndex searchIndex, Executor diskExecutor) {
+        this.apiService = apiService;
+        this.localStore = localStore;
+        this.entityStore = entityStore;
+        this.searchIndex = searchIndex;
+        this.diskExecutor = diskExecutor;
+        diskExecutor.execute(this::restore);
+    }
+
+    public boolean isReady() {
+        return catalog != null;
+    }
+
+    // True once a sync has completed in this process; a catalog restored from disk
+    // is usable before that, but may be missing changes made since the last run.
+    public boolean isCurrent() {
+        return current;
+    }
+
+    // Sorted snapshot of the synced catalog, or null before the first sync.
+    public List<DishDetail> getCatalog() {
+        return catalog;
+    }
+
+    // Starts a background full sync the first time the feed is opened without a local catalog.
+    public void bootstrap() {
+        if (catalog == null && !running) {
+            start(RequestPriority.BACKGROUND);
+        }
+    }
+
+    // Reports the number of dishes created, updated or deleted. Callers that arrive
+    // while a sync is running join it instead of starting another, raising its
+    // priority for the remaining requests if theirs is more urgent.
+    public Cancellable sync(RequestPriority priority, DataCallback<Integer> callback) {
+        waiters.add(callback);
+        if (!running) {
+            start(priority);
+        } else if (priority.compareTo(runPriority) < 0) {
+            runPriority = priority;
+        }
+        return () -> waiters.remove(callback);
+    }
+
+    public DishesResponse page(String cursor, int pageSize) {
+        int from = 0;
+        if (cursor != null) {
+            Dish after = decodeCursor(cursor);
+            if (after != null) {
+                int index = Collections.binarySearch(catalog, after, FEED_ORDER);
+                from = index >= 0 ? index + 1 : -index - 1;
+            }
+        }
+        int to = Math.min(from + pageSize, catalog.size());
+        DishesResponse response = new DishesResponse();
+        response.setItems(new ArrayList<>(catalog.subList(from, to)));
+        response.setPageSize(pageSize);
+        if (to < catalog.size()) {
+            response.setNextCursor(encodeCursor(catalog.get(to - 1)));
+        }
+        return response;
+    }
+
+    private void start(RequestPriority priority) {
+        running = true;
+        runPriority = priority;
+        runChanges = 0;
+        diskExecutor.execute(() -> {
+            String token = syncToken;
+            mainHandler.post(() -> request(token));
+        });
+    }
+
+    private void request(String token) {
+        apiService.getDishChanges(token, CHANGES_PER_REQUEST, runPriority).enqueue(new Callback<DishChanges>() {
+            @Override
+            public void onResponse(Call<DishChanges> call, Response<DishChanges> response) {
+                DishChanges changes = response.body();
+                if (response.isSuccessful() && changes != null) {
+                    diskExecutor.execute(() -> apply(changes));
+                } else {
+                    fail("Failed to sync dishes");
+                }
+            }
+
+            @Override
+            public void onFailure(Call<DishChanges> call, Throwable t) {
+                fail("Network error: " + t.getMessage());
+            }
+        });
+    }
+
+    // Runs on diskExecutor.
+    private void apply(DishChanges changes) {
+        int count = 0;
+        if (changes.getUpserted() != null) {
+            for (DishDetail detail : changes.getUpserted()) {
+                dishesById.put(detail.getId(), detail);
+                localStore.putDetail(detail);
+                searchIndex.putDetail(detail);
+                entityStore.put(detail);
+            }
+            count += changes.getUpserted().size();
+        }
+        if (changes.getDeleted() != null) {
+            for (Integer id : changes.getDeleted()) {
+                dishesById.remove(id);
+                localStore.deleteDetail(id);
+                entityStore.remove(id);
+            }
+            count += changes.getDeleted().size();
+        }
+        syncToken = changes.getSyncToken();
+        int applied = count;
+        if (applied > 0) {
+            catalogDirty = true;
+        }
+
+        if (changes.isHasMore()) {
+            String token = syncToken;
+            mainHandler.post(() -> {
+                runChanges += applied;
+                request(token);
+            });
+            return;
+        }
+
+        List<DishDetail> snapshot = sortedSnapshot();
+        // A run without changes leaves the stored catalog valid; its older sync token
+        // only makes the next launch ask for changes it already has.
+        if (catalogDirty) {
+            DishChanges stored = new DishChanges();
+            stored.setUpserted(snapshot);
+            stored.setDeleted(Collections.emptyList());
+            stored.setSyncToken(syncToken);
+            localStore.putCatalog(stored);
+            catalogDirty = false;
+        }
+        searchIndex.retain(dishesById.keySet());
+        searchIndex.onCatalogSize(snapshot.size());
+        mainHandler.post(() -> {
+            runChanges += applied;
+            catalog = snapshot;
+            current = true;
+            finish();
+        });
+    }
+
+    private void restore() {
+        DishChanges stored = localStore.getCatalog();
+        if (stored == null || stored.getSyncToken() == null || stored.getUpserted() == null) {
+            return;
+        }
+        for (DishDetail detail : stored.getUpserted()) {
+            dishesById.put(detail.getId(), detail);
+        }
+        syncToken = stored.getSyncToken();
+        List<DishDetail> snapshot = sortedSnapshot();
+        searchIndex.restore(snapshot, snapshot);
+        mainHandler.post(() -> {
+            if (catalog == null) {
+                catalog = snapshot;
+            }
+        });
+    }
+
+    private List<DishDetail> sortedSnapshot() {
+        List<DishDetail> snapshot = new ArrayList<>(dishesById.values());
+        snapshot.sort(FEED_ORDER);
+        return Collections.unmodifiableList(snapshot);
+    }
+
+    private void finish() {
+        running = false;
+        List<DataCallback<Integer>> done = new ArrayList<>(waiters);
+        waiters.clear();
+        for (DataCallback<Integer> waiter : done) {
+            waiter.onData(runChanges, false);
+        }
+    }
+
+    private void fail(String message) {
+        running = false;
+        List<DataCallback<Integer>> done = new ArrayList<>(waiters);
+        waiters.clear();
+        for (DataCallback<Integer> waiter : done) {
+            waiter.onError(message);
+        }
+    }
+
+    // Same format as the server's cursors: base64url("{id}:{name}") without padding.
+    private static String encodeCursor(Dish dish) {
+        String raw = dish.getId() + ":" + dish.getName();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Dish decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0) {
+                return null;
+            }
+            Dish dish = new Dish();
+            dish.setId(Integer.parseInt(raw.substring(0, separator)));
+            dish.setName(raw.substring(separator + 1));
+            return dish;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.yakudza_docs_mobile.ui.debug;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+
+import com.example.yakudza_docs_mobile.R;
+import com.example.yakudza_docs_mobile.StartupTrace;
+import com.example.yakudza_docs_mobile.data.api.metrics.NetworkMetrics;
+import com.example.yakudza_docs_mobile.databinding.FragmentNetworkMetricsBinding;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class NetworkMetricsFragment extends Fragment {
+    private static final ExecutorService exportExecutor = Executors.newSingleThreadExecutor();
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private FragmentNetworkMetricsBinding binding;
+    private final NetworkMetrics metrics = NetworkMetrics.getInstance();
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        binding = FragmentNetworkMetricsBinding.inflate(inflater, container, false);
+        return binding.getRoot();
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        binding.refreshButton.setOnClickListener(v -> showReport());
+
+        binding.resetButton.setOnClickListener(v -> {
+            metrics.reset();
+            showReport();
+        });
+
+        binding.exportButton.setOnClickListener(v -> export());
+
+        showReport();
+    }
+
+    // Writes off the main thread; the toast uses the application context so it
+    // still shows if the screen is closed while the file is being written.
+    private void export() {
+        Context context = requireContext().getApplicationContext();
+        exportExecutor.execute(() -> {
+            String message;
+            try {
+                message = metrics.exportTo(exportDirectory(context)).getAbsolutePath();
+            } catch (IOException e) {
+                message = "Export failed: " + e.getMessage();
+            }
+            String result = message;
+            mainHandler.post(() -> Toast.makeText(context, result, Toast.LENGTH_LONG).show());
+        });
+    }
+
+    // External storage may be unmounted or unavailable; app-private storage always exists.
+    private static File exportDirectory(Context context) {
+        File external = context.getExternalFilesDir(null);
+        return external != null ? external : context.getFilesDir();
+    }
+
+    private void showReport() {
+        String report = metrics.buildReport();
+        String startup = "Startup\n" + StartupTrace.summary() + "\n";
+        binding.metricsReport.setText(startup + (report.isEmpty() ? getString(R.string.metrics_empty) : report));
+    }
+
+    @Override
+    public void onDestroyView() {
+        super.onDestroyView();
+        binding = null;
+    }
+}
@@ -12,9 +12,8 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
 
-import com.bumptech.glide.Glide;
-import com.example.yakudza_docs_mobile.R;
 import com.example.yakudza_docs_mobile.databinding.FragmentDishDetailBinding;
+import com.example.yakudza_docs_mobile.ui.image.DishImageLoader;
 
 public class DishDetailFragment extends Fragment {
     private FragmentDishDetailBinding binding;
@@ -49,26 +48,18 @@ public class DishDetailFragment extends Fragment {
             return;
         }
 
+        viewModel.getDish().observe(getViewLifecycleOwner(), dish -> {
+            if (dish != null) {
+                binding.collapsingToolbar.setTitle(dish.getName());
+                binding.dishDescription.setText(dish.getDescription());
+
+                DishImageLoader.loadHeader(binding.dishImage, dish);
+            }
+        });
+
         viewModel.getDishDetail().observe(getViewLifecycleOwner(), dishDetail -> {
-            if (dishDetail != null) {
-                binding.collapsingToolbar.setTitle(dishDetail.getName());
-                binding.dishDescription.setText(dishDetail.getDescription());
-
-                if (dishDetail.isHasImage()) {
-                    String imageUrl = "http://kpakozz96pyc.xyz:8447/api/dishes/" + dishDetail.getId() + "/image";
-                    Glide.with(requireContext())
-                            .load(imageUrl)
-                            .placeholder(R.drawable.ic_launcher_foreground)
-                            .error(R.drawable.ic_launcher_foreground)
-                            .centerCrop()
-                            .into(binding.dishImage);
-                } else {
-                    binding.dishImage.setImageResource(R.drawable.ic_launcher_foreground);
-                }
-
-                if (dishDetail.getIngredients() != null) {
-                    adapter.setIngredients(dishDetail.getIngredients());
-                }
+            if (dishDetail != null && dishDetail.getIngredients() != null) {
+                adapter.submitList(dishDetail.getIngredients());
             }
         });
 
@@ -6,47 +6,65 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.yakudza_docs_mobile.AppContainer;
+import com.example.yakudza_docs_mobile.data.model.Dish;
 import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.example.yakudza_docs_mobile.data.repository.Cancellable;
+import com.example.yakudza_docs_mobile.data.repository.DataCallback;
 import com.example.yakudza_docs_mobile.data.repository.DishRepository;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class DishDetailViewModel extends AndroidViewModel {
     private final DishRepository dishRepository;
+    private final MutableLiveData<Dish> dish = new MutableLiveData<>();
     private final MutableLiveData<DishDetail> dishDetail = new MutableLiveData<>();
     private final MutableLiveData<Boolean> loading = new MutableLiveData<>();
     private final MutableLiveData<String> error = new MutableLiveData<>();
+    private Cancellable request = Cancellable.NONE;
 
     public DishDetailViewModel(Application application) {
         super(application);
-        this.dishRepository = new DishRepository(application);
+        this.dishRepository = AppContainer.from(application).dishRepository();
     }
 
     public void loadDishDetail(int dishId) {
-        loading.setValue(true);
+        request.cancel();
         error.setValue(null);
 
-        dishRepository.getDishDetail(dishId, new Callback<DishDetail>() {
+        Dish cached = dishRepository.getCachedDish(dishId);
+        if (cached != null) {
+            dish.setValue(cached);
+        }
+        DishDetail cachedDetail = dishRepository.getCachedDishDetail(dishId);
+        if (cachedDetail != null) {
+            dishDetail.setValue(cachedDetail);
+        }
+        loading.setValue(cachedDetail == null);
+
+        request = dishRepository.getDishDetail(dishId, new DataCallback<DishDetail>() {
             @Override
-            public void onResponse(Call<DishDetail> call, Response<DishDetail> response) {
+            public void onData(DishDetail data, boolean fromCache) {
                 loading.setValue(false);
-                if (response.isSuccessful() && response.body() != null) {
-                    dishDetail.setValue(response.body());
-                } else {
-                    error.setValue("Failed to load dish details");
-                }
+                dish.setValue(data);
+                dishDetail.setValue(data);
             }
 
             @Override
-            public void onFailure(Call<DishDetail> call, Throwable t) {
+            public void onError(String message) {
                 loading.setValue(false);
-                error.setValue("Network error: " + t.getMessage());
+                error.setValue(message);
             }
         });
     }
 
+    @Override
+    protected void onCleared() {
+        request.cancel();
+    }
+
+    public LiveData<Dish> getDish() {
+        return dish;
+    }
+
     public LiveData<DishDetail> getDishDetail() {
         return dishDetail;
     }
@@ -6,21 +6,32 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.yakudza_docs_mobile.R;
 import com.example.yakudza_docs_mobile.data.model.Ingredient;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class IngredientAdapter extends RecyclerView.Adapter<IngredientAdapter.IngredientViewHolder> {
-    private List<Ingredient> ingredients = new ArrayList<>();
+public class IngredientAdapter extends ListAdapter<Ingredient, IngredientAdapter.IngredientViewHolder> {
+    private static final DiffUtil.ItemCallback<Ingredient> DIFF_CALLBACK = new DiffUtil.ItemCallback<Ingredient>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Ingredient oldItem, @NonNull Ingredient newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Ingredient oldItem, @NonNull Ingredient newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && oldItem.getWeightGrams() == newItem.getWeightGrams();
+        }
+    };
 
-    public void setIngredients(List<Ingredient> ingredients) {
-        this.ingredients = ingredients;
-        notifyDataSetChanged();
+    public IngredientAdapter() {
+        super(DIFF_CALLBACK);
     }
 
     @NonNull
@@ -33,15 +44,10 @@ public class IngredientAdapter extends RecyclerView.Adapter<IngredientAdapter.In
 
     @Override
     public void onBindViewHolder(@NonNull IngredientViewHolder holder, int position) {
-        Ingredient ingredient = ingredients.get(position);
+        Ingredient ingredient = getItem(position);
         holder.bind(ingredient);
     }
 
-    @Override
-    public int getItemCount() {
-        return ingredients.size();
-    }
-
     static class IngredientViewHolder extends RecyclerView.ViewHolder {
         private final TextView ingredientName;
         private final TextView ingredientWeight;
@@ -7,32 +7,44 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.example.yakudza_docs_mobile.R;
 import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.ui.image.DishImageLoader;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Objects;
 
-public class DishAdapter extends RecyclerView.Adapter<DishAdapter.DishViewHolder> {
-    private List<Dish> dishes = new ArrayList<>();
-    private OnDishClickListener listener;
+public class DishAdapter extends ListAdapter<Dish, DishAdapter.DishViewHolder> {
+    private static final DiffUtil.ItemCallback<Dish> DIFF_CALLBACK = new DiffUtil.ItemCallback<Dish>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Dish oldItem, @NonNull Dish newItem) {
+            return oldItem.getId() == newItem.getId();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Dish oldItem, @NonNull Dish newItem) {
+            return Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                    && oldItem.isHasImage() == newItem.isHasImage()
+                    && Objects.equals(oldItem.getImageHash(), newItem.getImageHash())
+                    && Objects.equals(oldItem.getImagePlaceholder(), newItem.getImagePlaceholder());
+        }
+    };
+
+    private final OnDishClickListener listener;
 
     public interface OnDishClickListener {
         void onDishClick(Dish dish);
     }
 
     public DishAdapter(OnDishClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
     }
 
-    public void setDishes(List<Dish> dishes) {
-        this.dishes = dishes;
-        notifyDataSetChanged();
-    }
-
     @NonNull
     @Override
     public DishViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -43,15 +55,10 @@ public class DishAdapter extends RecyclerView.Adapter<DishAdapter.DishViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull DishViewHolder holder, int position) {
-        Dish dish = dishes.get(position);
+        Dish dish = getItem(position);
         holder.bind(dish, listener);
     }
 
-    @Override
-    public int getItemCount() {
-        return dishes.size();
-    }
-
     static class DishViewHolder extends RecyclerView.ViewHolder {
         private final ImageView dishImage;
         private final TextView dishName;
@@ -65,20 +72,18 @@ public class DishAdapter extends RecyclerView.Adapter<DishAdapter.DishViewHolder
         }
 
         public void bind(Dish dish, OnDishClickListener listener) {
+            if (dish == null) {
+                dishName.setText(null);
+                dishDescription.setText(null);
+                DishImageLoader.showPlaceholder(dishImage);
+                itemView.setOnClickListener(null);
+                return;
+            }
+
             dishName.setText(dish.getName());
             dishDescription.setText(dish.getDescription());
 
-            if (dish.isHasImage()) {
-                String imageUrl = "http://kpakozz96pyc.xyz:8447/api/dishes/" + dish.getId() + "/image";
-                Glide.with(itemView.getContext())
-                        .load(imageUrl)
-                        .placeholder(R.drawable.ic_launcher_foreground)
-                        .error(R.drawable.ic_launcher_foreground)
-                        .centerCrop()
-                        .into(dishImage);
-            } else {
-                dishImage.setImageResource(R.drawable.ic_launcher_foreground);
-            }
+            DishImageLoader.loadThumbnail(dishImage, dish);
 
             itemView.setOnClickListener(v -> {
                 if (listener != null) {
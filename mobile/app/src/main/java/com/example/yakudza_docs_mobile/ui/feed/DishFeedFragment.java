@@ -1,6 +1,7 @@
 package com.example.yakudza_docs_mobile.ui.feed;
 
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.view.LayoutInflater;
 import android.view.Menu;
 import android.view.MenuInflater;
@@ -17,17 +18,35 @@ import androidx.fragment.app.Fragment;
 import androidx.lifecycle.Lifecycle;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
+import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.integration.recyclerview.RecyclerViewPreloader;
+import com.bumptech.glide.util.FixedPreloadSizeProvider;
+import com.example.yakudza_docs_mobile.AppContainer;
+import com.example.yakudza_docs_mobile.BuildConfig;
 import com.example.yakudza_docs_mobile.R;
 import com.example.yakudza_docs_mobile.data.repository.AuthRepository;
+import com.example.yakudza_docs_mobile.data.model.Dish;
 import com.example.yakudza_docs_mobile.databinding.FragmentDishFeedBinding;
+import com.example.yakudza_docs_mobile.ui.image.DishImageLoader;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class DishFeedFragment extends Fragment {
+    private static final int MAX_PRELOAD_IMAGES = 8;
+    // While scrolling, visible dishes are reported at most this often so the detail
+    // prefetcher drops dishes that already scrolled past without churning per frame.
+    private static final long VISIBLE_DISHES_THROTTLE_MS = 150;
+
     private FragmentDishFeedBinding binding;
     private DishFeedViewModel viewModel;
     private DishAdapter adapter;
     private AuthRepository authRepository;
+    private long visibleDishesReportedAt;
 
     @Nullable
     @Override
@@ -42,7 +61,7 @@ public class DishFeedFragment extends Fragment {
         super.onViewCreated(view, savedInstanceState);
 
         viewModel = new ViewModelProvider(this).get(DishFeedViewModel.class);
-        authRepository = new AuthRepository(requireContext());
+        authRepository = AppContainer.from(requireContext()).authRepository();
 
         adapter = new DishAdapter(dish -> {
             Bundle args = new Bundle();
@@ -53,21 +72,42 @@ public class DishFeedFragment extends Fragment {
 
         binding.dishRecyclerView.setAdapter(adapter);
 
+        RequestManager glide = Glide.with(this);
+        int thumbnailSize = DishImageLoader.thumbnailSize(requireContext());
+        binding.dishRecyclerView.addOnScrollListener(new RecyclerViewPreloader<Dish>(
+                glide,
+                new DishImagePreloadProvider(requireContext(), glide, adapter),
+                new FixedPreloadSizeProvider<>(thumbnailSize, thumbnailSize),
+                MAX_PRELOAD_IMAGES
+        ));
+
         binding.dishRecyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
             @Override
             public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
                 super.onScrolled(recyclerView, dx, dy);
-                if (!recyclerView.canScrollVertically(1)) {
-                    viewModel.loadDishes(false);
+                reportVisibleRange();
+                if (SystemClock.uptimeMillis() - visibleDishesReportedAt >= VISIBLE_DISHES_THROTTLE_MS) {
+                    reportVisibleDishes();
+                }
+            }
+
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                super.onScrollStateChanged(recyclerView, newState);
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    reportVisibleDishes();
                 }
             }
         });
 
-        binding.swipeRefresh.setOnRefreshListener(() -> viewModel.loadDishes(true));
+        binding.swipeRefresh.setOnRefreshListener(() -> viewModel.refresh());
 
-        viewModel.getDishes().observe(getViewLifecycleOwner(), dishes -> {
-            adapter.setDishes(dishes);
-        });
+        viewModel.getDishes().observe(getViewLifecycleOwner(), dishes ->
+                adapter.submitList(dishes, () -> {
+                    reportVisibleRange();
+                    reportVisibleDishes();
+                })
+        );
 
         viewModel.getLoading().observe(getViewLifecycleOwner(), loading -> {
             binding.swipeRefresh.setRefreshing(loading);
@@ -80,7 +120,44 @@ public class DishFeedFragment extends Fragment {
         });
 
         setupMenu();
-        viewModel.loadDishes(true);
+        if (!viewModel.hasLoaded()) {
+            viewModel.refresh();
+        }
+    }
+
+    private void reportVisibleRange() {
+        if (binding == null) {
+            return;
+        }
+        LinearLayoutManager layoutManager =
+                (LinearLayoutManager) binding.dishRecyclerView.getLayoutManager();
+        if (layoutManager != null) {
+            viewModel.onVisibleRangeChanged(layoutManager.findFirstVisibleItemPosition(),
+                    layoutManager.findLastVisibleItemPosition());
+        }
+    }
+
+    private void reportVisibleDishes() {
+        if (binding == null) {
+            return;
+        }
+        LinearLayoutManager layoutManager =
+                (LinearLayoutManager) binding.dishRecyclerView.getLayoutManager();
+        if (layoutManager == null) {
+            return;
+        }
+        List<Dish> items = adapter.getCurrentList();
+        int first = Math.max(layoutManager.findFirstVisibleItemPosition(), 0);
+        int last = Math.min(layoutManager.findLastVisibleItemPosition(), items.size() - 1);
+        List<Integer> dishIds = new ArrayList<>();
+        for (int position = first; position <= last; position++) {
+            Dish dish = items.get(position);
+            if (dish != null) {
+                dishIds.add(dish.getId());
+            }
+        }
+        visibleDishesReportedAt = SystemClock.uptimeMillis();
+        viewModel.onVisibleDishesChanged(dishIds);
     }
 
     private void setupMenu() {
@@ -88,6 +165,7 @@ public class DishFeedFragment extends Fragment {
             @Override
             public void onCreateMenu(@NonNull Menu menu, @NonNull MenuInflater menuInflater) {
                 menuInflater.inflate(R.menu.menu_feed, menu);
+                menu.findItem(R.id.action_network_metrics).setVisible(BuildConfig.DEBUG);
 
                 MenuItem searchItem = menu.findItem(R.id.action_search);
                 SearchView searchView = (SearchView) searchItem.getActionView();
@@ -103,6 +181,8 @@ public class DishFeedFragment extends Fragment {
                     public boolean onQueryTextChange(String newText) {
                         if (newText.isEmpty()) {
                             viewModel.search(null);
+                        } else {
+                            viewModel.onSearchQueryChanged(newText);
                         }
                         return true;
                     }
@@ -111,6 +191,11 @@ public class DishFeedFragment extends Fragment {
 
             @Override
             public boolean onMenuItemSelected(@NonNull MenuItem menuItem) {
+                if (menuItem.getItemId() == R.id.action_network_metrics) {
+                    Navigation.findNavController(binding.getRoot())
+                            .navigate(R.id.action_dishFeedFragment_to_networkMetricsFragment);
+                    return true;
+                }
                 if (menuItem.getItemId() == R.id.action_logout) {
                     authRepository.logout();
                     Navigation.findNavController(binding.getRoot())
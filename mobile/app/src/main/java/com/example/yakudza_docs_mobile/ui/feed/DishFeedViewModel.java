@@ -1,90 +1,158 @@
 package com.example.yakudza_docs_mobile.ui.feed;
 
 import android.app.Application;
+import android.net.ConnectivityManager;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.yakudza_docs_mobile.AppContainer;
 import com.example.yakudza_docs_mobile.data.model.Dish;
-import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+import com.example.yakudza_docs_mobile.data.paging.DishPager;
+import com.example.yakudza_docs_mobile.data.prefetch.DishDetailPrefetcher;
+import com.example.yakudza_docs_mobile.data.repository.Cancellable;
+import com.example.yakudza_docs_mobile.data.repository.DataCallback;
 import com.example.yakudza_docs_mobile.data.repository.DishRepository;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import java.util.Objects;
 
 public class DishFeedViewModel extends AndroidViewModel {
+    private static final long SEARCH_DEBOUNCE_MS = 300;
+
     private final DishRepository dishRepository;
-    private final MutableLiveData<List<Dish>> dishes = new MutableLiveData<>(new ArrayList<>());
+    private final DishPager pager;
+    private final DishDetailPrefetcher detailPrefetcher;
+    private final ConnectivityManager connectivityManager;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable debouncedSearch = () -> search(pendingQuery);
+    private final MutableLiveData<List<Dish>> dishes = new MutableLiveData<>(Collections.emptyList());
     private final MutableLiveData<Boolean> loading = new MutableLiveData<>();
     private final MutableLiveData<String> error = new MutableLiveData<>();
 
-    private int currentPage = 1;
-    private final int pageSize = 10;
     private String currentSearch = null;
-    private boolean isLastPage = false;
+    private String pendingQuery = null;
+    private boolean loaded = false;
+    private boolean showingLocalResults = false;
+    private Cancellable syncRequest = Cancellable.NONE;
 
     public DishFeedViewModel(Application application) {
         super(application);
-        this.dishRepository = new DishRepository(application);
+        this.dishRepository = AppContainer.from(application).dishRepository();
+        this.pager = new DishPager(dishRepository, DishPager.DEFAULT_PREFETCH_DISTANCE, new DishPager.Listener() {
+            @Override
+            public void onItemsChanged(List<Dish> items) {
+                dishes.setValue(items);
+            }
+
+            @Override
+            public void onRefreshingChanged(boolean refreshing) {
+                loading.setValue(refreshing);
+            }
+
+            @Override
+            public void onError(String message) {
+                error.setValue(message);
+            }
+        });
+        this.connectivityManager = application.getSystemService(ConnectivityManager.class);
+        this.detailPrefetcher = new DishDetailPrefetcher(dishRepository, connectivityManager);
     }
 
-    public void loadDishes(boolean refresh) {
-        if (loading.getValue() != null && loading.getValue()) {
-            return;
-        }
+    public boolean hasLoaded() {
+        return loaded;
+    }
 
-        if (refresh) {
-            currentPage = 1;
-            isLastPage = false;
-        } else if (isLastPage) {
+    // With a synced catalog a refresh only fetches what changed, and leaves the
+    // list untouched when nothing did.
+    public void refresh() {
+        if (currentSearch != null || !dishRepository.hasSyncedCatalog()) {
+            reload();
             return;
         }
-
-        loading.setValue(true);
+        loaded = true;
         error.setValue(null);
-
-        dishRepository.getDishes(currentPage, pageSize, currentSearch, new Callback<DishesResponse>() {
+        loading.setValue(true);
+        syncRequest.cancel();
+        syncRequest = dishRepository.syncCatalog(new DataCallback<Integer>() {
             @Override
-            public void onResponse(Call<DishesResponse> call, Response<DishesResponse> response) {
-                loading.setValue(false);
-                if (response.isSuccessful() && response.body() != null) {
-                    DishesResponse dishesResponse = response.body();
-                    List<Dish> newDishes = dishesResponse.getItems();
-
-                    if (refresh) {
-                        dishes.setValue(newDishes);
-                    } else {
-                        List<Dish> currentDishes = dishes.getValue();
-                        if (currentDishes != null) {
-                            currentDishes.addAll(newDishes);
-                            dishes.setValue(currentDishes);
-                        }
-                    }
-
-                    currentPage++;
-                    isLastPage = newDishes.isEmpty() ||
-                                (currentPage - 1) * pageSize >= dishesResponse.getTotalCount();
+            public void onData(Integer changed, boolean fromCache) {
+                syncRequest = Cancellable.NONE;
+                if (connectivityManager != null && !connectivityManager.isActiveNetworkMetered()) {
+                    dishRepository.prefetchCatalogImages();
+                }
+                if (changed > 0 || dishes.getValue().isEmpty()) {
+                    reload();
                 } else {
-                    error.setValue("Failed to load dishes");
+                    loading.setValue(false);
                 }
             }
 
             @Override
-            public void onFailure(Call<DishesResponse> call, Throwable t) {
-                loading.setValue(false);
-                error.setValue("Network error: " + t.getMessage());
+            public void onError(String message) {
+                syncRequest = Cancellable.NONE;
+                reload();
+                error.setValue(message);
             }
         });
     }
 
+    private void reload() {
+        loaded = true;
+        showingLocalResults = false;
+        error.setValue(null);
+        syncRequest.cancel();
+        syncRequest = Cancellable.NONE;
+        pager.refresh(currentSearch);
+    }
+
+    public void onVisibleRangeChanged(int firstVisiblePosition, int lastVisiblePosition) {
+        if (!showingLocalResults) {
+            pager.onVisibleRangeChanged(firstVisiblePosition, lastVisiblePosition);
+        }
+    }
+
+    public void onVisibleDishesChanged(List<Integer> dishIds) {
+        detailPrefetcher.setVisibleDishes(dishIds);
+    }
+
+    public void onSearchQueryChanged(String query) {
+        pendingQuery = query;
+        handler.removeCallbacks(debouncedSearch);
+        handler.postDelayed(debouncedSearch, SEARCH_DEBOUNCE_MS);
+    }
+
     public void search(String query) {
-        currentSearch = query != null && query.trim().isEmpty() ? null : query;
-        loadDishes(true);
+        handler.removeCallbacks(debouncedSearch);
+        String normalized = query != null && query.trim().isEmpty() ? null : query;
+        if (loaded && Objects.equals(normalized, currentSearch)) {
+            return;
+        }
+        currentSearch = normalized;
+        if (normalized != null && dishRepository.canSearchLocally()) {
+            pager.cancel();
+            syncRequest.cancel();
+            syncRequest = Cancellable.NONE;
+            loaded = true;
+            showingLocalResults = true;
+            error.setValue(null);
+            loading.setValue(false);
+            dishes.setValue(Collections.unmodifiableList(dishRepository.searchLocally(normalized)));
+            return;
+        }
+        reload();
+    }
+
+    @Override
+    protected void onCleared() {
+        handler.removeCallbacks(debouncedSearch);
+        syncRequest.cancel();
+        pager.cancel();
+        detailPrefetcher.cancel();
     }
 
     public LiveData<List<Dish>> getDishes() {
@@ -0,0 +1,45 @@
+package com.example.yakudza_docs_mobile.ui.feed;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.ListPreloader;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.ui.image.DishImageLoader;
+
+import java.util.Collections;
+import java.util.List;
+
+public class DishImagePreloadProvider implements ListPreloader.PreloadModelProvider<Dish> {
+    private final Context context;
+    private final RequestManager glide;
+    private final DishAdapter adapter;
+
+    public DishImagePreloadProvider(Context context, RequestManager glide, DishAdapter adapter) {
+        this.context = context.getApplicationContext();
+        this.glide = glide;
+        this.adapter = adapter;
+    }
+
+    @NonNull
+    @Override
+    public List<Dish> getPreloadItems(int position) {
+        List<Dish> dishes = adapter.getCurrentList();
+        if (position < 0 || position >= dishes.size()) {
+            return Collections.emptyList();
+        }
+        Dish dish = dishes.get(position);
+        return dish != null && dish.isHasImage() ? Collections.singletonList(dish) : Collections.emptyList();
+    }
+
+    @Nullable
+    @Override
+    public RequestBuilder<?> getPreloadRequestBuilder(@NonNull Dish dish) {
+        return DishImageLoader.thumbnail(glide, context, dish);
+    }
+}
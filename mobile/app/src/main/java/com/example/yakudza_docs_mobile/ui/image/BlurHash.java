@@ -0,0 +1,111 @@
+package com.example.yakudza_docs_mobile.ui.image;
+
+// Decoder for BlurHash (https://blurha.sh) strings sent by the server as
+// Dish.imagePlaceholder. Produces ARGB pixels ready for Bitmap.createBitmap.
+final class BlurHash {
+    private static final String CHARACTERS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    private BlurHash() {
+    }
+
+    static int[] decode(String hash, int width, int height) {
+        if (hash == null || hash.length() < 6) {
+            throw new IllegalArgumentException("BlurHash too short: " + hash);
+        }
+        int sizeFlag = decode83(hash, 0, 1);
+        int componentsX = sizeFlag % 9 + 1;
+        int componentsY = sizeFlag / 9 + 1;
+        if (hash.length() != 4 + 2 * componentsX * componentsY) {
+            throw new IllegalArgumentException("BlurHash length does not match its components: " + hash);
+        }
+
+        float maximumValue = (decode83(hash, 1, 2) + 1) / 166f;
+        float[][] colors = new float[componentsX * componentsY][];
+        colors[0] = decodeDc(decode83(hash, 2, 6));
+        for (int i = 1; i < colors.length; i++) {
+            colors[i] = decodeAc(decode83(hash, 4 + i * 2, 6 + i * 2), maximumValue);
+        }
+
+        float[] cosX = cosines(width, componentsX);
+        float[] cosY = cosines(height, componentsY);
+        int[] pixels = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                float r = 0;
+                float g = 0;
+                float b = 0;
+                for (int j = 0; j < componentsY; j++) {
+                    for (int i = 0; i < componentsX; i++) {
+                        float basis = cosX[x * componentsX + i] * cosY[y * componentsY + j];
+                        float[] color = colors[j * componentsX + i];
+                        r += color[0] * basis;
+                        g += color[1] * basis;
+                        b += color[2] * basis;
+                    }
+                }
+                pixels[y * width + x] = 0xFF000000
+                        | linearToSrgb(r) << 16
+                        | linearToSrgb(g) << 8
+                        | linearToSrgb(b);
+            }
+        }
+        return pixels;
+    }
+
+    // cos(PI * position * component / size) for every position/component pair.
+    private static float[] cosines(int size, int components) {
+        float[] table = new float[size * components];
+        for (int position = 0; position < size; position++) {
+            for (int component = 0; component < components; component++) {
+                table[position * components + component] =
+                        (float) Math.cos(Math.PI * position * component / size);
+            }
+        }
+        return table;
+    }
+
+    private static int decode83(String hash, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = CHARACTERS.indexOf(hash.charAt(i));
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid BlurHash character: " + hash.charAt(i));
+            }
+            value = value * 83 + digit;
+        }
+        return value;
+    }
+
+    private static float[] decodeDc(int value) {
+        return new float[]{
+                srgbToLinear(value >> 16),
+                srgbToLinear((value >> 8) & 0xFF),
+                srgbToLinear(value & 0xFF)
+        };
+    }
+
+    private static float[] decodeAc(int value, float maximumValue) {
+        return new float[]{
+                signedSquare((value / (19 * 19) - 9) / 9f) * maximumValue,
+                signedSquare((value / 19 % 19 - 9) / 9f) * maximumValue,
+                signedSquare((value % 19 - 9) / 9f) * maximumValue
+        };
+    }
+
+    private static float signedSquare(float value) {
+        return Math.copySign(value * value, value);
+    }
+
+    private static float srgbToLinear(int value) {
+        float v = value / 255f;
+        return v <= 0.04045f ? v / 12.92f : (float) Math.pow((v + 0.055f) / 1.055f, 2.4f);
+    }
+
+    private static int linearToSrgb(float value) {
+        float v = Math.max(0f, Math.min(1f, value));
+        return v <= 0.0031308f
+                ? Math.round(v * 12.92f * 255f)
+                : Math.round((1.055f * (float) Math.pow(v, 1 / 2.4f) - 0.055f) * 255f);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.yakudza_docs_mobile.ui.image;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.Registry;
+import com.bumptech.glide.annotation.Excludes;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.integration.okhttp3.OkHttpLibraryGlideModule;
+import com.bumptech.glide.integration.okhttp3.OkHttpUrlLoader;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
+import com.bumptech.glide.load.model.GlideUrl;
+import com.bumptech.glide.load.model.UnitModelLoader;
+import com.bumptech.glide.module.AppGlideModule;
+import com.bumptech.glide.request.RequestOptions;
+import com.example.yakudza_docs_mobile.AppContainer;
+
+import java.io.InputStream;
+
+import okhttp3.Call;
+
+@GlideModule
+@Excludes(OkHttpLibraryGlideModule.class)
+public class DishGlideModule extends AppGlideModule {
+    private static final float MEMORY_CACHE_SCREENS = 2f;
+    private static final float BITMAP_POOL_SCREENS = 2f;
+    private static final long DISK_CACHE_SIZE_BYTES = 100L * 1024 * 1024;
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        MemorySizeCalculator calculator = new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(MEMORY_CACHE_SCREENS)
+                .setBitmapPoolScreens(BITMAP_POOL_SCREENS)
+                .build();
+
+        builder.setMemoryCache(new LruResourceCache(calculator.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(calculator.getBitmapPoolSize()));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context, DISK_CACHE_SIZE_BYTES));
+        builder.setDefaultRequestOptions(new RequestOptions().format(DecodeFormat.PREFER_RGB_565));
+    }
+
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        AppContainer container = AppContainer.from(context);
+        // URL loads share the API client: its connections, auth, scheduler (as
+        // VISIBLE_IMAGE, until Glide closes the body), HTTP cache and metrics.
+        // newCall runs on Glide's source threads, so waiting for the network graph
+        // never blocks the UI.
+        Call.Factory callFactory = request -> container.callFactory().newCall(request);
+        registry.replace(GlideUrl.class, InputStream.class, new OkHttpUrlLoader.Factory(callFactory));
+        registry.prepend(DishImage.class, InputStream.class,
+                new DishImageModelLoader.Factory(container.dishImageStore()));
+        // Placeholders carry their own data, so the model is passed straight to the decoder.
+        registry.append(DishPlaceholder.class, DishPlaceholder.class, UnitModelLoader.Factory.getInstance());
+        registry.append(DishPlaceholder.class, Bitmap.class, new DishPlaceholderDecoder(glide.getBitmapPool()));
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.yakudza_docs_mobile.ui.image;
+
+import java.util.Objects;
+
+// Glide model for a specific version of a dish image; loaded through DishImageStore.
+public final class DishImage {
+    private final int dishId;
+    private final String imageHash;
+
+    public DishImage(int dishId, String imageHash) {
+        this.dishId = dishId;
+        this.imageHash = imageHash;
+    }
+
+    public int getDishId() {
+        return dishId;
+    }
+
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DishImage)) {
+            return false;
+        }
+        DishImage other = (DishImage) o;
+        return dishId == other.dishId && imageHash.equals(other.imageHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dishId, imageHash);
+    }
+
+    @Override
+    public String toString() {
+        return "DishImage{" + dishId + "_" + imageHash + "}";
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.yakudza_docs_mobile.ui.image;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.widget.ImageView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.load.resource.bitmap.DownsampleStrategy;
+import com.example.yakudza_docs_mobile.BuildConfig;
+import com.example.yakudza_docs_mobile.R;
+import com.example.yakudza_docs_mobile.data.model.Dish;
+
+import java.util.Locale;
+
+public final class DishImageLoader {
+    private static final String IMAGE_URL = BuildConfig.API_BASE_URL + "dishes/%d/image";
+
+    private DishImageLoader() {
+    }
+
+    public static String imageUrl(int dishId) {
+        return String.format(Locale.ROOT, IMAGE_URL, dishId);
+    }
+
+    // Versioned images go through DishImageStore, which already keeps the original
+    // on disk, so Glide only caches the decoded result for them.
+    private static Object model(Dish dish) {
+        return dish.getImageHash() != null ? new DishImage(dish.getId(), dish.getImageHash()) : imageUrl(dish.getId());
+    }
+
+    private static DiskCacheStrategy diskCacheStrategy(Dish dish) {
+        return dish.getImageHash() != null ? DiskCacheStrategy.RESOURCE : DiskCacheStrategy.ALL;
+    }
+
+    public static int thumbnailSize(Context context) {
+        return context.getResources().getDimensionPixelSize(R.dimen.dish_thumbnail_size);
+    }
+
+    public static RequestBuilder<Drawable> thumbnail(RequestManager glide, Context context, Dish dish) {
+        RequestBuilder<Drawable> request = glide.load(model(dish))
+                .format(DecodeFormat.PREFER_RGB_565)
+                .downsample(DownsampleStrategy.AT_MOST)
+                .override(thumbnailSize(context))
+                .diskCacheStrategy(diskCacheStrategy(dish))
+                .centerCrop();
+        if (dish.getImagePlaceholder() == null) {
+            return request;
+        }
+        // The blurred preview decodes from the list payload, so it shows long before
+        // the image arrives; it is cheap to rebuild and never touches the disk cache.
+        return request.thumbnail(glide.load(new DishPlaceholder(dish.getImagePlaceholder()))
+                .diskCacheStrategy(DiskCacheStrategy.NONE)
+                .centerCrop());
+    }
+
+    public static void loadThumbnail(ImageView target, Dish dish) {
+        if (!dish.isHasImage()) {
+            showPlaceholder(target);
+            return;
+        }
+        thumbnail(Glide.with(target), target.getContext(), dish)
+                .placeholder(R.drawable.ic_launcher_foreground)
+                .error(R.drawable.ic_launcher_foreground)
+                .into(target);
+    }
+
+    public static void loadHeader(ImageView target, Dish dish) {
+        if (!dish.isHasImage()) {
+            showPlaceholder(target);
+            return;
+        }
+        RequestManager glide = Glide.with(target);
+        glide.load(model(dish))
+                .thumbnail(thumbnail(glide, target.getContext(), dish))
+                .format(DecodeFormat.PREFER_ARGB_8888)
+                .diskCacheStrategy(diskCacheStrategy(dish))
+                .placeholder(R.drawable.ic_launcher_foreground)
+                .error(R.drawable.ic_launcher_foreground)
+                .centerCrop()
+                .into(target);
+    }
+
+    public static void showPlaceholder(ImageView target) {
+        Glide.with(target).clear(target);
+        target.setImageResource(R.drawable.ic_launcher_foreground);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.yakudza_docs_mobile.ui.image;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Priority;
+import com.bumptech.glide.load.DataSource;
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.data.DataFetcher;
+import com.bumptech.glide.load.model.ModelLoader;
+import com.bumptech.glide.load.model.ModelLoaderFactory;
+import com.bumptech.glide.load.model.MultiModelLoaderFactory;
+import com.bumptech.glide.signature.ObjectKey;
+import com.example.yakudza_docs_mobile.data.api.scheduling.RequestPriority;
+import com.example.yakudza_docs_mobile.data.image.DishImageStore;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Serves DishImage models from DishImageStore, so Glide and bulk prefetch share
+// one copy of every image version.
+public class DishImageModelLoader implements ModelLoader<DishImage, InputStream> {
+    private final DishImageStore store;
+
+    DishImageModelLoader(DishImageStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public LoadData<InputStream> buildLoadData(@NonNull DishImage model, int width, int height,
+                                               @NonNull Options options) {
+        return new LoadData<>(new ObjectKey(model), new Fetcher(store, model));
+    }
+
+    @Override
+    public boolean handles(@NonNull DishImage model) {
+        return true;
+    }
+
+    private static final class Fetcher implements DataFetcher<InputStream> {
+        private final DishImageStore store;
+        private final DishImage model;
+        private InputStream stream;
+        private DataSource dataSource = DataSource.REMOTE;
+        private volatile DishImageStore.Load load;
+        private volatile boolean cancelled;
+
+        Fetcher(DishImageStore store, DishImage model) {
+            this.store = store;
+            this.model = model;
+        }
+
+        @Override
+        public void loadData(@NonNull Priority priority, @NonNull DataCallback<? super InputStream> callback) {
+            try {
+                File file = store.peek(model.getDishId(), model.getImageHash());
+                if (file != null) {
+                    dataSource = DataSource.LOCAL;
+                } else {
+                    RequestPriority requestPriority = priority == Priority.LOW
+                            ? RequestPriority.BACKGROUND
+                            : RequestPriority.VISIBLE_IMAGE;
+                    load = store.load(model.getDishId(), model.getImageHash(), requestPriority);
+                    if (cancelled) {
+                        load.cancel();
+                    }
+                    file = load.get();
+                }
+                stream = new FileInputStream(file);
+                callback.onDataReady(stream);
+            } catch (IOException e) {
+                callback.onLoadFailed(e);
+            }
+        }
+
+        @Override
+        public void cleanup() {
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        // Called from the main thread while loadData may be blocked in the download.
+        @Override
+        public void cancel() {
+            cancelled = true;
+            DishImageStore.Load current = load;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @NonNull
+        @Override
+        public Class<InputStream> getDataClass() {
+            return InputStream.class;
+        }
+
+        @NonNull
+        @Override
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+    }
+
+    public static class Factory implements ModelLoaderFactory<DishImage, InputStream> {
+        private final DishImageStore store;
+
+        public Factory(DishImageStore store) {
+            this.store = store;
+        }
+
+        @NonNull
+        @Override
+        public ModelLoader<DishImage, InputStream> build(@NonNull MultiModelLoaderFactory multiFactory) {
+            return new DishImageModelLoader(store);
+        }
+
+        @Override
+        public void teardown() {
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.yakudza_docs_mobile.ui.image;
+
+// Glide model for the blurred preview of a dish image, decoded locally from the
+// BlurHash that arrives inline with list items.
+public final class DishPlaceholder {
+    private final String blurHash;
+
+    public DishPlaceholder(String blurHash) {
+        this.blurHash = blurHash;
+    }
+
+    public String getBlurHash() {
+        return blurHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DishPlaceholder)) {
+            return false;
+        }
+        return blurHash.equals(((DishPlaceholder) o).blurHash);
+    }
+
+    @Override
+    public int hashCode() {
+        return blurHash.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "DishPlaceholder{" + blurHash + "}";
+    }
+}
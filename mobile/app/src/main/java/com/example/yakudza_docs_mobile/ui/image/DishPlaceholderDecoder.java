@@ -0,0 +1,44 @@
+package com.example.yakudza_docs_mobile.ui.image;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.load.Options;
+import com.bumptech.glide.load.ResourceDecoder;
+import com.bumptech.glide.load.engine.Resource;
+import com.bumptech.glide.load.engine.bitmap_recycle.BitmapPool;
+import com.bumptech.glide.load.resource.bitmap.BitmapResource;
+
+// Renders a DishPlaceholder into a small bitmap on Glide's decode threads; the
+// view scales it up and the blur hides the missing detail. Decoded previews are
+// kept in Glide's memory cache like any other resource.
+public class DishPlaceholderDecoder implements ResourceDecoder<DishPlaceholder, Bitmap> {
+    private static final int SIZE = 32;
+
+    private final BitmapPool bitmapPool;
+
+    DishPlaceholderDecoder(BitmapPool bitmapPool) {
+        this.bitmapPool = bitmapPool;
+    }
+
+    @Override
+    public boolean handles(@NonNull DishPlaceholder source, @NonNull Options options) {
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public Resource<Bitmap> decode(@NonNull DishPlaceholder source, int width, int height,
+                                   @NonNull Options options) {
+        int[] pixels;
+        try {
+            pixels = BlurHash.decode(source.getBlurHash(), SIZE, SIZE);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        Bitmap bitmap = Bitmap.createBitmap(pixels, SIZE, SIZE, Bitmap.Config.ARGB_8888);
+        return BitmapResource.obtain(bitmap, bitmapPool);
+    }
+}
@@ -6,6 +6,7 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.yakudza_docs_mobile.AppContainer;
 import com.example.yakudza_docs_mobile.data.model.LoginResponse;
 import com.example.yakudza_docs_mobile.data.repository.AuthRepository;
 
@@ -21,7 +22,7 @@ public class LoginViewModel extends AndroidViewModel {
 
     public LoginViewModel(Application application) {
         super(application);
-        this.authRepository = new AuthRepository(application);
+        this.authRepository = AppContainer.from(application).authRepository();
     }
 
     public void login(String username, String password) {
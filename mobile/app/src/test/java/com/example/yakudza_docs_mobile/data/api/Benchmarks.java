@@ -0,0 +1,45 @@
+package com.example.yakudza_docs_mobile.data.api;
+
+import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+
+import java.io.IOException;
+
+/**
+ * Timing helper for the decode benchmarks. They only run with {@code -Pyakudza.benchmarks=true}
+ * and print their numbers; wall-clock time is too machine-dependent to assert on.
+ */
+public final class Benchmarks {
+    public static final boolean ENABLED = Boolean.getBoolean("yakudza.benchmarks");
+
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_BATCHES = 5;
+    private static final int BATCH_ROUNDS = 100;
+
+    private Benchmarks() {
+    }
+
+    public interface Decode {
+        DishesResponse run() throws IOException;
+    }
+
+    // Best batch rather than the mean, so a GC pause or JIT recompilation in one
+    // batch does not decide the comparison.
+    public static double measureMicros(Decode decode) throws IOException {
+        int sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += decode.run().getItems().size();
+        }
+        long best = Long.MAX_VALUE;
+        for (int batch = 0; batch < MEASURED_BATCHES; batch++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < BATCH_ROUNDS; i++) {
+                sink += decode.run().getItems().size();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        if (sink == 0) {
+            throw new AssertionError("decoded nothing");
+        }
+        return best / 1000.0 / BATCH_ROUNDS;
+    }
+}
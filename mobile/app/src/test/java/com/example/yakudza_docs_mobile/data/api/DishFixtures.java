@@ -0,0 +1,56 @@
+package com.example.yakudza_docs_mobile.data.api;
+
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+import com.example.yakudza_docs_mobile.data.model.Ingredient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Feed pages and dish details shaped like real API responses, shared by the wire format tests.
+ */
+public final class DishFixtures {
+    public static final int[] PAGE_SIZES = {10, 100, 1000};
+
+    private DishFixtures() {
+    }
+
+    public static DishesResponse page(int size) {
+        List<Dish> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Dish dish = new Dish();
+            dish.setId(i + 1);
+            dish.setName("Борщ №" + i);
+            dish.setDescription("Классический украинский борщ с говядиной и сметаной, порция " + i);
+            dish.setHasImage(i % 3 != 0);
+            items.add(dish);
+        }
+        DishesResponse response = new DishesResponse();
+        response.setItems(items);
+        response.setTotalCount(size * 5);
+        response.setPage(1);
+        response.setPageSize(size);
+        response.setNextCursor("MjrQntC70LjQstGM0LU");
+        return response;
+    }
+
+    public static DishDetail detail(int id) {
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setId(i + 1);
+            ingredient.setName("Ингредиент " + i);
+            ingredient.setWeightGrams(i * 12.5 + 0.75);
+            ingredients.add(ingredient);
+        }
+        DishDetail detail = new DishDetail();
+        detail.setId(id);
+        detail.setName("Борщ");
+        detail.setDescription("Классический борщ");
+        detail.setHasImage(true);
+        detail.setIngredients(ingredients);
+        return detail;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.yakudza_docs_mobile.data.api.cbor;
+
+import com.example.yakudza_docs_mobile.data.api.Benchmarks;
+import com.example.yakudza_docs_mobile.data.api.json.DishJson;
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+import com.example.yakudza_docs_mobile.data.model.Ingredient;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.example.yakudza_docs_mobile.data.api.DishFixtures.PAGE_SIZES;
+import static com.example.yakudza_docs_mobile.data.api.DishFixtures.detail;
+import static com.example.yakudza_docs_mobile.data.api.DishFixtures.page;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks that CBOR bodies decode to the same models as JSON through the {@link DishJson} adapters
+ * and are smaller, and reports how their decode times compare.
+ */
+public class DishWireFormatBenchmarkTest {
+    @Test
+    public void cborFeedPageMatchesJson() throws IOException {
+        Gson gson = DishJson.gson();
+        String json = gson.toJson(page(100));
+
+        DishesResponse fromJson = gson.fromJson(json, DishesResponse.class);
+        DishesResponse fromCbor = gson.getAdapter(DishesResponse.class).read(new CborJsonReader(encode(json)));
+
+        assertEquals(fromJson.getNextCursor(), fromCbor.getNextCursor());
+        assertEquals(fromJson.getPageSize(), fromCbor.getPageSize());
+        assertEquals(fromJson.getItems().size(), fromCbor.getItems().size());
+        for (int i = 0; i < fromJson.getItems().size(); i++) {
+            Dish expected = fromJson.getItems().get(i);
+            Dish actual = fromCbor.getItems().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.isHasImage(), actual.isHasImage());
+        }
+    }
+
+    @Test
+    public void cborDetailMatchesJson() throws IOException {
+        Gson gson = DishJson.gson();
+        String json = gson.toJson(detail(7));
+
+        DishDetail fromJson = gson.fromJson(json, DishDetail.class);
+        DishDetail fromCbor = gson.getAdapter(DishDetail.class).read(new CborJsonReader(encode(json)));
+
+        assertEquals(fromJson.getId(), fromCbor.getId());
+        assertEquals(fromJson.getName(), fromCbor.getName());
+        assertEquals(fromJson.getIngredients().size(), fromCbor.getIngredients().size());
+        for (int i = 0; i < fromJson.getIngredients().size(); i++) {
+            Ingredient expected = fromJson.getIngredients().get(i);
+            Ingredient actual = fromCbor.getIngredients().get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getWeightGrams(), actual.getWeightGrams(), 0.0);
+        }
+    }
+
+    @Test
+    public void cborHalfAndSinglePrecisionNumbersDecode() throws IOException {
+        // 0xf9: IEEE 754 half precision
+        assertWeight(12.5, 0xf9, 0x4a, 0x40);
+        assertWeight(-2.5, 0xf9, 0xc1, 0x00);
+        assertWeight(0.0, 0xf9, 0x00, 0x00);
+        assertWeight(Math.pow(2, -24), 0xf9, 0x00, 0x01);
+        assertWeight(65504.0, 0xf9, 0x7b, 0xff);
+        // 0xfa: single precision
+        assertWeight(0.75, 0xfa, 0x3f, 0x40, 0x00, 0x00);
+        assertWeight((double) 0.1f, 0xfa, 0x3d, 0xcc, 0xcc, 0xcd);
+        assertWeight(-1024.0, 0xfa, 0xc4, 0x80, 0x00, 0x00);
+    }
+
+    @Test
+    public void cborIntegralHalfDecodesAsInt() throws IOException {
+        Ingredient ingredient = decodeIngredient(new int[]{0xf9, 0x47, 0x00}, new int[]{0xf9, 0x3c, 0x00});
+        assertEquals(7, ingredient.getId());
+        assertEquals(1.0, ingredient.getWeightGrams(), 0.0);
+    }
+
+    @Test
+    public void cborFeedPageIsSmallerThanJson() {
+        Gson gson = DishJson.gson();
+        for (int pageSize : PAGE_SIZES) {
+            String json = gson.toJson(page(pageSize));
+            int jsonBytes = json.getBytes(StandardCharsets.UTF_8).length;
+            int cborBytes = encode(json).length;
+            assertTrue(String.format(Locale.ROOT, "%d items: cbor %d bytes, json %d bytes",
+                    pageSize, cborBytes, jsonBytes), cborBytes < jsonBytes);
+        }
+    }
+
+    @Test
+    public void benchmarkFeedPageWireFormats() throws IOException {
+        assumeTrue(Benchmarks.ENABLED);
+        Gson gson = DishJson.gson();
+        for (int pageSize : PAGE_SIZES) {
+            String json = gson.toJson(page(pageSize));
+            byte[] cbor = encode(json);
+            double jsonMicros = Benchmarks.measureMicros(() -> gson.fromJson(json, DishesResponse.class));
+            double cborMicros = Benchmarks.measureMicros(
+                    () -> gson.getAdapter(DishesResponse.class).read(new CborJsonReader(cbor)));
+            System.out.println(String.format(Locale.ROOT,
+                    "%d items: cbor %.1f us/page (%d bytes), json %.1f us/page (%d bytes)",
+                    pageSize, cborMicros, cbor.length, jsonMicros, json.getBytes(StandardCharsets.UTF_8).length));
+        }
+    }
+
+    private static void assertWeight(double expected, int... encoded) throws IOException {
+        Ingredient ingredient = decodeIngredient(new int[]{0x01}, encoded);
+        assertEquals(expected, ingredient.getWeightGrams(), 0.0);
+    }
+
+    // {"id": <id>, "weightGrams": <weight>} with both values given as raw CBOR bytes.
+    private static Ingredient decodeIngredient(int[] id, int[] weight) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        header(out, 5, 2);
+        text(out, "id");
+        for (int b : id) {
+            out.write(b);
+        }
+        text(out, "weightGrams");
+        for (int b : weight) {
+            out.write(b);
+        }
+        return DishJson.gson().getAdapter(Ingredient.class).read(new CborJsonReader(out.toByteArray()));
+    }
+
+    // Mirrors the server's CborOutputFormatter: definite-length maps and arrays,
+    // integers where the number is integral, doubles otherwise.
+    static byte[] encode(String json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, JsonParser.parseString(json));
+        return out.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream out, JsonElement element) {
+        if (element.isJsonNull()) {
+            out.write(0xf6);
+        } else if (element.isJsonObject()) {
+            header(out, 5, element.getAsJsonObject().size());
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                text(out, entry.getKey());
+                write(out, entry.getValue());
+            }
+        } else if (element.isJsonArray()) {
+            header(out, 4, element.getAsJsonArray().size());
+            for (JsonElement item : element.getAsJsonArray()) {
+                write(out, item);
+            }
+        } else {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                out.write(primitive.getAsBoolean() ? 0xf5 : 0xf4);
+            } else if (primitive.isString()) {
+                text(out, primitive.getAsString());
+            } else {
+                double value = primitive.getAsDouble();
+                if (value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE) {
+                    long integral = (long) value;
+                    if (integral >= 0) {
+                        header(out, 0, integral);
+                    } else {
+                        header(out, 1, -1 - integral);
+                    }
+                } else {
+                    out.write(0xfb);
+                    long bits = Double.doubleToLongBits(value);
+                    for (int shift = 56; shift >= 0; shift -= 8) {
+                        out.write((int) (bits >>> shift));
+                    }
+                }
+            }
+        }
+    }
+
+    private static void text(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        header(out, 3, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void header(ByteArrayOutputStream out, int major, long value) {
+        int type = major << 5;
+        if (value < 24) {
+            out.write(type | (int) value);
+        } else if (value < 0x100) {
+            out.write(type | 24);
+            out.write((int) value);
+        } else if (value < 0x10000) {
+            out.write(type | 25);
+            out.write((int) (value >>> 8));
+            out.write((int) value);
+        } else {
+            out.write(type | 26);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                out.write((int) (value >>> shift));
+            }
+        }
+    }
+}
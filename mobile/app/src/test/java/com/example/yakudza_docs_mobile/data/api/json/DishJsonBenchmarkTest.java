@@ -0,0 +1,35 @@
+package com.example.yakudza_docs_mobile.data.api.json;
+
+import com.example.yakudza_docs_mobile.data.api.Benchmarks;
+import com.example.yakudza_docs_mobile.data.api.DishFixtures;
+import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Reports how long default reflective Gson binding and the streaming adapters from
+ * {@link DishJson} take to decode a feed page; {@link DishJsonTest} checks that both decode
+ * the same models.
+ */
+public class DishJsonBenchmarkTest {
+    @Test
+    public void benchmarkFeedPageDecoding() throws IOException {
+        assumeTrue(Benchmarks.ENABLED);
+        Gson reflective = new Gson();
+        Gson streaming = DishJson.gson();
+        for (int pageSize : DishFixtures.PAGE_SIZES) {
+            String json = streaming.toJson(DishFixtures.page(pageSize));
+            double reflectiveMicros = Benchmarks.measureMicros(() -> reflective.fromJson(json, DishesResponse.class));
+            double streamingMicros = Benchmarks.measureMicros(() -> streaming.fromJson(json, DishesResponse.class));
+            System.out.println(String.format(Locale.ROOT,
+                    "%d items: streaming %.1f us/page, reflective %.1f us/page",
+                    pageSize, streamingMicros, reflectiveMicros));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.yakudza_docs_mobile.data.api.json;
+
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.example.yakudza_docs_mobile.data.model.DishesResponse;
+import com.example.yakudza_docs_mobile.data.model.Ingredient;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * The hand-written adapters in {@link DishJson} must decode exactly what reflective Gson binding
+ * decodes from the same body, including explicit nulls and fields the client does not know.
+ */
+public class DishJsonTest {
+    private final Gson reflective = new Gson();
+    private final Gson streaming = DishJson.gson();
+
+    @Test
+    public void feedPageMatchesReflectiveBinding() {
+        String json = json("{'items':["
+                + "{'id':1,'name':'Борщ','description':'Со сметаной','hasImage':true,"
+                + "'imageHash':'a1b2','imagePlaceholder':'LEHV6nWB2yk8'},"
+                + "{'id':2,'name':'Щи \\u0026 \\\"каша\\\"','description':'','hasImage':false}],"
+                + "'totalCount':120,'page':3,'pageSize':2,'nextCursor':'MjrQntC70LjQstGM0LU'}");
+
+        assertFeedEquals(reflective.fromJson(json, DishesResponse.class),
+                streaming.fromJson(json, DishesResponse.class));
+    }
+
+    @Test
+    public void feedPageExplicitNullsMatchReflectiveBinding() {
+        String json = json("{'items':[{'id':5,'name':null,'description':null,"
+                + "'imageHash':null,'imagePlaceholder':null},null],'nextCursor':null}");
+
+        DishesResponse expected = reflective.fromJson(json, DishesResponse.class);
+        DishesResponse actual = streaming.fromJson(json, DishesResponse.class);
+
+        assertFeedEquals(expected, actual);
+        assertNull(actual.getItems().get(0).getName());
+        assertNull(actual.getItems().get(1));
+        assertNull(actual.getNextCursor());
+    }
+
+    @Test
+    public void nullItemsMatchReflectiveBinding() {
+        String json = json("{'items':null,'totalCount':0}");
+
+        DishesResponse actual = streaming.fromJson(json, DishesResponse.class);
+
+        assertFeedEquals(reflective.fromJson(json, DishesResponse.class), actual);
+        assertNull(actual.getItems());
+    }
+
+    @Test
+    public void unknownFieldsAreSkipped() {
+        String json = json("{'apiVersion':2,'items':[{'id':9,'rating':4.5,'tags':['суп',{'x':[1,2]}],"
+                + "'name':'Солянка','author':{'id':3,'name':null},'hasImage':true}],"
+                + "'debug':{'nested':[[],{}]},'pageSize':1,'extra':null}");
+
+        DishesResponse actual = streaming.fromJson(json, DishesResponse.class);
+
+        assertFeedEquals(reflective.fromJson(json, DishesResponse.class), actual);
+        assertEquals("Солянка", actual.getItems().get(0).getName());
+        assertEquals(1, actual.getPageSize());
+    }
+
+    @Test
+    public void detailMatchesReflectiveBinding() {
+        String json = json("{'id':7,'name':'Оливье','description':'Классический','hasImage':true,"
+                + "'imageHash':'ff00','calories':250,'ingredients':["
+                + "{'id':1,'name':'Картофель','weightGrams':150.5,'unit':'г'},"
+                + "{'id':2,'name':null,'weightGrams':0},"
+                + "{'id':3,'name':'Горошек','weightGrams':1e2}]}");
+
+        assertDetailEquals(reflective.fromJson(json, DishDetail.class),
+                streaming.fromJson(json, DishDetail.class));
+    }
+
+    @Test
+    public void detailWithNullIngredientsMatchesReflectiveBinding() {
+        String json = json("{'id':8,'name':'Чай','ingredients':null,'imagePlaceholder':null}");
+
+        DishDetail actual = streaming.fromJson(json, DishDetail.class);
+
+        assertDetailEquals(reflective.fromJson(json, DishDetail.class), actual);
+        assertNull(actual.getIngredients());
+    }
+
+    @Test
+    public void encodedModelsRoundTrip() {
+        String json = json("{'id':7,'name':'Оливье','description':null,'hasImage':false,"
+                + "'ingredients':[{'id':1,'name':'Картофель','weightGrams':150.5}]}");
+        DishDetail detail = streaming.fromJson(json, DishDetail.class);
+
+        assertDetailEquals(detail, reflective.fromJson(streaming.toJson(detail), DishDetail.class));
+    }
+
+    // Lets the fixtures use single quotes instead of escaped double quotes.
+    private static String json(String singleQuoted) {
+        return singleQuoted.replace('\'', '"');
+    }
+
+    private static void assertFeedEquals(DishesResponse expected, DishesResponse actual) {
+        assertEquals(expected.getTotalCount(), actual.getTotalCount());
+        assertEquals(expected.getPage(), actual.getPage());
+        assertEquals(expected.getPageSize(), actual.getPageSize());
+        assertEquals(expected.getNextCursor(), actual.getNextCursor());
+        if (expected.getItems() == null) {
+            assertNull(actual.getItems());
+            return;
+        }
+        assertEquals(expected.getItems().size(), actual.getItems().size());
+        for (int i = 0; i < expected.getItems().size(); i++) {
+            assertDishEquals(expected.getItems().get(i), actual.getItems().get(i));
+        }
+    }
+
+    private static void assertDetailEquals(DishDetail expected, DishDetail actual) {
+        assertDishEquals(expected, actual);
+        List<Ingredient> expectedIngredients = expected.getIngredients();
+        List<Ingredient> actualIngredients = actual.getIngredients();
+        if (expectedIngredients == null) {
+            assertNull(actualIngredients);
+            return;
+        }
+        assertEquals(expectedIngredients.size(), actualIngredients.size());
+        for (int i = 0; i < expectedIngredients.size(); i++) {
+            Ingredient expectedIngredient = expectedIngredients.get(i);
+            Ingredient actualIngredient = actualIngredients.get(i);
+            assertEquals(expectedIngredient.getId(), actualIngredient.getId());
+            assertEquals(expectedIngredient.getName(), actualIngredient.getName());
+            assertEquals(expectedIngredient.getWeightGrams(), actualIngredient.getWeightGrams(), 0.0);
+        }
+    }
+
+    private static void assertDishEquals(Dish expected, Dish actual) {
+        if (expected == null) {
+            assertNull(actual);
+            return;
+        }
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.isHasImage(), actual.isHasImage());
+        assertEquals(expected.getImageHash(), actual.getImageHash());
+        assertEquals(expected.getImagePlaceholder(), actual.getImagePlaceholder());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.yakudza_docs_mobile.data.api.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Percentiles come from exponential buckets that grow by 25%, so a reported value may
+ * overshoot the exact one by at most a quarter but never exceed the recorded maximum.
+ */
+public class LatencyHistogramTest {
+    private static final double BUCKET_GROWTH = 1.25;
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanMs(), 0);
+        assertEquals(0, histogram.getMaxMs(), 0);
+        assertEquals(0, histogram.percentileMs(50), 0);
+        assertEquals(0, histogram.percentileMs(99), 0);
+    }
+
+    @Test
+    public void singleSampleIsEveryPercentile() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+
+        assertEquals(10, histogram.percentileMs(1), 0);
+        assertEquals(10, histogram.percentileMs(50), 0);
+        assertEquals(10, histogram.percentileMs(100), 0);
+    }
+
+    @Test
+    public void percentilesStayWithinOneBucketOfExactValue() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(ms);
+        }
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMeanMs(), 1e-9);
+        assertEquals(100, histogram.getMaxMs(), 0);
+        assertWithinBucket(50, histogram.percentileMs(50));
+        assertWithinBucket(90, histogram.percentileMs(90));
+        assertWithinBucket(99, histogram.percentileMs(99));
+        assertEquals(100, histogram.percentileMs(100), 0);
+    }
+
+    @Test
+    public void percentileNeverExceedsMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(3.1);
+
+        assertEquals(3.1, histogram.percentileMs(100), 0);
+    }
+
+    @Test
+    public void samplesAboveLastBucketReportMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+        histogram.record(250_000);
+
+        assertEquals(250_000, histogram.percentileMs(99), 0);
+        assertEquals(250_000, histogram.getMaxMs(), 0);
+    }
+
+    private static void assertWithinBucket(double exact, double reported) {
+        assertTrue("p=" + reported + " below " + exact, reported >= exact);
+        assertTrue("p=" + reported + " above " + exact * BUCKET_GROWTH, reported <= exact * BUCKET_GROWTH);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.yakudza_docs_mobile.data.api.metrics;
+
+import org.junit.Test;
+
+import okhttp3.HttpUrl;
+
+import static org.junit.Assert.assertEquals;
+
+public class NetworkMetricsTest {
+    @Test
+    public void endpointDropsApiPrefixAndHost() {
+        assertEquals("dishes", endpointOf("http://10.0.2.2:5000/api/dishes"));
+    }
+
+    @Test
+    public void numericSegmentsCollapseToPlaceholder() {
+        assertEquals("dishes/{id}/image", endpointOf("http://host/api/dishes/42/image"));
+        assertEquals("dishes/{id}", endpointOf("http://host/api/dishes/7"));
+    }
+
+    @Test
+    public void queryAndTrailingSlashAreIgnored() {
+        assertEquals("dishes/changes", endpointOf("http://host/api/dishes/changes/?since=15&limit=100"));
+    }
+
+    @Test
+    public void pathWithoutApiSegmentIsKeptWhole() {
+        assertEquals("health/{id}", endpointOf("http://host/health/3"));
+    }
+
+    @Test
+    public void mixedSegmentsAreNotTreatedAsIds() {
+        assertEquals("dishes/v2", endpointOf("http://host/api/dishes/v2"));
+    }
+
+    private static String endpointOf(String url) {
+        return NetworkMetrics.endpointOf(HttpUrl.get(url));
+    }
+}
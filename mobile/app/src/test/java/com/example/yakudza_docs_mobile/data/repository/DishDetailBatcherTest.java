@@ -0,0 +1,261 @@
+package com.example.yakudza_docs_mobile.data.repository;
+
+import com.example.yakudza_docs_mobile.data.api.ApiService;
+import com.example.yakudza_docs_mobile.data.api.scheduling.RequestPriority;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Drives {@link DishDetailBatcher} with a manual timer and an {@link ApiService} proxy that
+ * records calls instead of sending them.
+ */
+public class DishDetailBatcherTest {
+    private final FakeTimer timer = new FakeTimer();
+    private final List<SentCall> sent = new ArrayList<>();
+    private final DishDetailBatcher batcher = new DishDetailBatcher(api(), timer);
+
+    @Test
+    public void nothingIsSentBeforeTheWindowCloses() {
+        batcher.request(1, RequestPriority.VISIBLE_PAGE, new Recorder());
+        batcher.request(2, RequestPriority.VISIBLE_PAGE, new Recorder());
+
+        assertTrue(sent.isEmpty());
+        assertEquals(1, timer.tasks.size());
+    }
+
+    @Test
+    public void requestsInOneWindowShareABatch() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        batcher.request(1, RequestPriority.VISIBLE_PAGE, first);
+        batcher.request(2, RequestPriority.VISIBLE_PAGE, second);
+        timer.fire();
+
+        assertEquals(1, sent.size());
+        assertEquals("getDishDetails", sent.get(0).method);
+        assertEquals(List.of(1, 2), sent.get(0).ids);
+        assertEquals(RequestPriority.VISIBLE_PAGE, sent.get(0).priority);
+
+        sent.get(0).respond(List.of(detail(2), detail(1)));
+        assertEquals(1, first.data.get(0).getId());
+        assertEquals(2, second.data.get(0).getId());
+    }
+
+    @Test
+    public void loneRequestUsesTheSingleDishEndpoint() {
+        Recorder recorder = new Recorder();
+        batcher.request(7, RequestPriority.USER_INITIATED, recorder);
+        timer.fire();
+
+        assertEquals("getDishDetail", sent.get(0).method);
+        assertEquals(List.of(7), sent.get(0).ids);
+
+        sent.get(0).respond(detail(7));
+        assertEquals(7, recorder.data.get(0).getId());
+    }
+
+    @Test
+    public void prioritiesAreBatchedSeparately() {
+        batcher.request(1, RequestPriority.USER_INITIATED, new Recorder());
+        batcher.request(2, RequestPriority.BACKGROUND, new Recorder());
+        batcher.request(3, RequestPriority.BACKGROUND, new Recorder());
+        timer.fire();
+
+        assertEquals(2, sent.size());
+        assertEquals(RequestPriority.USER_INITIATED, sent.get(0).priority);
+        assertEquals(List.of(1), sent.get(0).ids);
+        assertEquals(RequestPriority.BACKGROUND, sent.get(1).priority);
+        assertEquals(List.of(2, 3), sent.get(1).ids);
+    }
+
+    @Test
+    public void largeBatchesAreSplit() {
+        for (int id = 1; id <= 150; id++) {
+            batcher.request(id, RequestPriority.BACKGROUND, new Recorder());
+        }
+        timer.fire();
+
+        assertEquals(2, sent.size());
+        assertEquals(100, sent.get(0).ids.size());
+        assertEquals(50, sent.get(1).ids.size());
+    }
+
+    @Test
+    public void missingDetailsFailOnlyTheirWaiters() {
+        Recorder found = new Recorder();
+        Recorder missing = new Recorder();
+        batcher.request(1, RequestPriority.VISIBLE_PAGE, found);
+        batcher.request(2, RequestPriority.VISIBLE_PAGE, missing);
+        timer.fire();
+
+        sent.get(0).respond(List.of(detail(1)));
+        assertEquals(1, found.data.size());
+        assertTrue(found.errors.isEmpty());
+        assertTrue(missing.data.isEmpty());
+        assertEquals(1, missing.errors.size());
+    }
+
+    @Test
+    public void networkFailureReachesEveryWaiter() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        batcher.request(1, RequestPriority.VISIBLE_PAGE, first);
+        batcher.request(2, RequestPriority.VISIBLE_PAGE, second);
+        timer.fire();
+
+        sent.get(0).fail(new IOException("timeout"));
+        assertEquals(List.of("Network error: timeout"), first.errors);
+        assertEquals(List.of("Network error: timeout"), second.errors);
+    }
+
+    @Test
+    public void cancellingBeforeTheWindowClosesDropsTheId() {
+        Cancellable first = batcher.request(1, RequestPriority.VISIBLE_PAGE, new Recorder());
+        batcher.request(2, RequestPriority.VISIBLE_PAGE, new Recorder());
+
+        first.cancel();
+        timer.fire();
+
+        assertEquals(List.of(2), sent.get(0).ids);
+    }
+
+    @Test
+    public void cancellingEveryPendingRequestUnschedulesTheFlush() {
+        Cancellable only = batcher.request(1, RequestPriority.VISIBLE_PAGE, new Recorder());
+
+        only.cancel();
+
+        assertTrue(timer.tasks.isEmpty());
+    }
+
+    @Test
+    public void inFlightBatchIsCancelledOnlyWithItsLastWaiter() {
+        Recorder kept = new Recorder();
+        Cancellable first = batcher.request(1, RequestPriority.VISIBLE_PAGE, new Recorder());
+        Cancellable second = batcher.request(2, RequestPriority.VISIBLE_PAGE, kept);
+        timer.fire();
+
+        first.cancel();
+        assertFalse(sent.get(0).cancelled);
+
+        second.cancel();
+        assertTrue(sent.get(0).cancelled);
+        sent.get(0).respond(List.of(detail(1), detail(2)));
+        assertTrue(kept.data.isEmpty());
+    }
+
+    private ApiService api() {
+        return (ApiService) Proxy.newProxyInstance(ApiService.class.getClassLoader(),
+                new Class<?>[]{ApiService.class}, (proxy, method, args) -> {
+                    SentCall call = new SentCall(method.getName(), (RequestPriority) args[1]);
+                    if (args[0] instanceof Integer) {
+                        call.ids.add((Integer) args[0]);
+                    } else {
+                        for (Object id : (List<?>) args[0]) {
+                            call.ids.add((Integer) id);
+                        }
+                    }
+                    sent.add(call);
+                    return call.proxy();
+                });
+    }
+
+    private static DishDetail detail(int id) {
+        DishDetail detail = new DishDetail();
+        detail.setId(id);
+        return detail;
+    }
+
+    private static class FakeTimer implements DishDetailBatcher.Timer {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void schedule(Runnable task, long delayMs) {
+            tasks.add(task);
+        }
+
+        @Override
+        public void cancel(Runnable task) {
+            tasks.remove(task);
+        }
+
+        void fire() {
+            List<Runnable> due = new ArrayList<>(tasks);
+            tasks.clear();
+            for (Runnable task : due) {
+                task.run();
+            }
+        }
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static class SentCall {
+        final String method;
+        final RequestPriority priority;
+        final List<Integer> ids = new ArrayList<>();
+        Call call;
+        Callback callback;
+        boolean cancelled;
+
+        SentCall(String method, RequestPriority priority) {
+            this.method = method;
+            this.priority = priority;
+        }
+
+        Call proxy() {
+            call = (Call) Proxy.newProxyInstance(Call.class.getClassLoader(), new Class<?>[]{Call.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "enqueue":
+                                callback = (Callback) args[0];
+                                return null;
+                            case "cancel":
+                                cancelled = true;
+                                return null;
+                            case "isCanceled":
+                                return cancelled;
+                            default:
+                                throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+            return call;
+        }
+
+        void respond(Object body) {
+            callback.onResponse(call, Response.success(body));
+        }
+
+        void fail(Throwable error) {
+            callback.onFailure(call, error);
+        }
+    }
+
+    private static class Recorder implements DataCallback<DishDetail> {
+        final List<DishDetail> data = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+
+        @Override
+        public void onData(DishDetail detail, boolean fromCache) {
+            data.add(detail);
+        }
+
+        @Override
+        public void onError(String message) {
+            errors.add(message);
+        }
+    }
+}
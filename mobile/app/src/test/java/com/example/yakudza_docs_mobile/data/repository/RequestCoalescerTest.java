@@ -0,0 +1,156 @@
+package com.example.yakudza_docs_mobile.data.repository;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestCoalescerTest {
+    private long now = 10_000;
+    private final RequestCoalescer coalescer = new RequestCoalescer(() -> now);
+    private final List<FakeRequest> requests = new ArrayList<>();
+
+    @Test
+    public void concurrentCallersShareOneRequest() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+
+        coalescer.execute("dishes", request(), first);
+        coalescer.execute("dishes", request(), second);
+        assertEquals(1, requests.size());
+
+        requests.get(0).callback.onData("page", false);
+        assertEquals(List.of("page"), first.data);
+        assertEquals(List.of("page"), second.data);
+    }
+
+    @Test
+    public void differentKeysAreNotCoalesced() {
+        coalescer.execute("dishes?page=1", request(), new Recorder());
+        coalescer.execute("dishes?page=2", request(), new Recorder());
+
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void completedResultIsReusedWithinTtl() {
+        coalescer.execute("dishes", request(), new Recorder());
+        requests.get(0).callback.onData("page", false);
+
+        now += 2000;
+        Recorder late = new Recorder();
+        coalescer.execute("dishes", request(), late);
+
+        assertEquals(1, requests.size());
+        assertEquals(List.of("page"), late.data);
+    }
+
+    @Test
+    public void completedResultExpiresAfterTtl() {
+        coalescer.execute("dishes", request(), new Recorder());
+        requests.get(0).callback.onData("page", false);
+
+        now += 2001;
+        Recorder late = new Recorder();
+        coalescer.execute("dishes", request(), late);
+
+        assertEquals(2, requests.size());
+        assertTrue(late.data.isEmpty());
+        requests.get(1).callback.onData("fresh", false);
+        assertEquals(List.of("fresh"), late.data);
+    }
+
+    @Test
+    public void errorsReachEveryWaiterAndAreNotCached() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        coalescer.execute("dishes", request(), first);
+        coalescer.execute("dishes", request(), second);
+
+        requests.get(0).callback.onError("offline");
+        assertEquals(List.of("offline"), first.errors);
+        assertEquals(List.of("offline"), second.errors);
+
+        coalescer.execute("dishes", request(), new Recorder());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void cancellingOneWaiterKeepsRequestForOthers() {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        Cancellable firstHandle = coalescer.execute("dishes", request(), first);
+        coalescer.execute("dishes", request(), second);
+
+        firstHandle.cancel();
+        assertFalse(requests.get(0).cancelled);
+
+        requests.get(0).callback.onData("page", false);
+        assertTrue(first.data.isEmpty());
+        assertEquals(List.of("page"), second.data);
+    }
+
+    @Test
+    public void cancellingLastWaiterCancelsRequest() {
+        Cancellable first = coalescer.execute("dishes", request(), new Recorder());
+        Cancellable second = coalescer.execute("dishes", request(), new Recorder());
+
+        first.cancel();
+        second.cancel();
+        assertTrue(requests.get(0).cancelled);
+
+        coalescer.execute("dishes", request(), new Recorder());
+        assertEquals(2, requests.size());
+    }
+
+    @Test
+    public void cancellingAfterCompletionIsHarmless() {
+        Cancellable handle = coalescer.execute("dishes", request(), new Recorder());
+        requests.get(0).callback.onData("page", false);
+
+        handle.cancel();
+        assertFalse(requests.get(0).cancelled);
+    }
+
+    private Function<DataCallback<String>, Cancellable> request() {
+        return callback -> {
+            FakeRequest request = new FakeRequest(callback);
+            requests.add(request);
+            return request;
+        };
+    }
+
+    private static class FakeRequest implements Cancellable {
+        final DataCallback<String> callback;
+        boolean cancelled;
+
+        FakeRequest(DataCallback<String> callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    private static class Recorder implements DataCallback<String> {
+        final List<String> data = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+
+        @Override
+        public void onData(String value, boolean fromCache) {
+            data.add(value);
+        }
+
+        @Override
+        public void onError(String message) {
+            errors.add(message);
+        }
+    }
+}
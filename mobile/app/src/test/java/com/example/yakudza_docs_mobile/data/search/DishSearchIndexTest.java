@@ -0,0 +1,143 @@
+package com.example.yakudza_docs_mobile.data.search;
+
+import com.example.yakudza_docs_mobile.data.model.Dish;
+import com.example.yakudza_docs_mobile.data.model.DishDetail;
+import com.example.yakudza_docs_mobile.data.model.Ingredient;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DishSearchIndexTest {
+    private final DishSearchIndex index = new DishSearchIndex();
+
+    @Test
+    public void normalizeFoldsCaseYoAndWhitespace() {
+        assertEquals("щи с ежиком", DishSearchIndex.normalize("  Щи \t с\nЁЖИКОМ  "));
+        assertEquals("", DishSearchIndex.normalize(null));
+        assertEquals("", DishSearchIndex.normalize("   "));
+    }
+
+    @Test
+    public void blankQueryMatchesNothing() {
+        index.putDishes(List.of(dish(1, "Борщ", "Со сметаной")));
+
+        assertTrue(index.search("  ").isEmpty());
+        assertTrue(index.search(null).isEmpty());
+    }
+
+    @Test
+    public void queryIsNormalizedLikeTheIndex() {
+        index.putDishes(List.of(dish(1, "Ёжики в томате", "Тефтели")));
+
+        assertEquals(List.of(1), ids(index.search("  ЕЖИКИ  В ")));
+    }
+
+    @Test
+    public void shortQueriesScanEveryEntry() {
+        index.putDishes(List.of(dish(1, "Щи", ""), dish(2, "Борщ", "")));
+
+        assertEquals(List.of(1, 2), ids(index.search("щ")));
+        assertEquals(List.of(1), ids(index.search("щи")));
+    }
+
+    @Test
+    public void nameMatchesRankAboveDescriptionMatches() {
+        index.putDishes(List.of(
+                dish(1, "Салат с курицей", ""),
+                dish(2, "Котлеты", "Из курицы"),
+                dish(3, "Курица гриль", ""),
+                dish(4, "Бульон", "Курица и зелень"),
+                dish(5, "Жаркое из курицы", "")));
+
+        assertEquals(List.of(3, 5, 1, 4, 2), ids(index.search("кур")));
+    }
+
+    @Test
+    public void gramsMustAppearContiguously() {
+        index.putDishes(List.of(dish(1, "Рис отварной", "Рассыпчатый")));
+
+        assertTrue(index.search("рис рас").isEmpty());
+        assertEquals(List.of(1), ids(index.search("рис отв")));
+    }
+
+    @Test
+    public void ingredientsFromDetailsAreSearchable() {
+        index.putDetail(detail(1, "Оливье", "Картофель", "Горошек"));
+
+        assertEquals(List.of(1), ids(index.search("горош")));
+    }
+
+    @Test
+    public void feedUpdateKeepsKnownIngredients() {
+        index.putDetail(detail(1, "Оливье", "Горошек"));
+        index.putDishes(List.of(dish(1, "Оливье классический", "")));
+
+        assertEquals(List.of(1), ids(index.search("горош")));
+        assertEquals(List.of(1), ids(index.search("классич")));
+    }
+
+    @Test
+    public void renamedDishNoLongerMatchesOldName() {
+        index.putDishes(List.of(dish(1, "Солянка", "")));
+        index.putDishes(List.of(dish(1, "Рассольник", "")));
+
+        assertTrue(index.search("солян").isEmpty());
+        assertEquals(List.of(1), ids(index.search("рассол")));
+    }
+
+    @Test
+    public void retainDropsDeletedDishes() {
+        index.putDishes(List.of(dish(1, "Пельмени", ""), dish(2, "Вареники", "")));
+
+        index.retain(Set.of(2));
+
+        assertTrue(index.search("пельм").isEmpty());
+        assertEquals(List.of(2), ids(index.search("варен")));
+    }
+
+    @Test
+    public void restoreDoesNotOverwriteNewerEntries() {
+        index.putDishes(List.of(dish(1, "Плов", "")));
+        index.restore(List.of(dish(1, "Старый плов", "")), Collections.emptyList());
+
+        assertTrue(index.search("стар").isEmpty());
+        assertEquals(List.of(1), ids(index.search("плов")));
+    }
+
+    private static Dish dish(int id, String name, String description) {
+        Dish dish = new Dish();
+        dish.setId(id);
+        dish.setName(name);
+        dish.setDescription(description);
+        return dish;
+    }
+
+    private static DishDetail detail(int id, String name, String... ingredientNames) {
+        DishDetail detail = new DishDetail();
+        detail.setId(id);
+        detail.setName(name);
+        List<Ingredient> ingredients = new ArrayList<>();
+        for (String ingredientName : ingredientNames) {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setName(ingredientName);
+            ingredients.add(ingredient);
+        }
+        detail.setIngredients(ingredients);
+        return detail;
+    }
+
+    private static List<Integer> ids(List<Dish> dishes) {
+        List<Integer> ids = new ArrayList<>();
+        for (Dish dish : dishes) {
+            ids.add(dish.getId());
+        }
+        return ids;
+    }
+}
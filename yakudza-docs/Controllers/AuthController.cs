@@ -1,3 +1,5 @@
+using System.Security.Claims;
+using Microsoft.AspNetCore.Authorization;
 using Microsoft.AspNetCore.Mvc;
 using Microsoft.EntityFrameworkCore;
 using yakudza_docs.Data;
@@ -53,6 +55,37 @@ public class AuthController : ControllerBase
         });
     }
 
+    /// <summary>
+    /// Issues a fresh token for the caller of a still-valid token so clients can renew before expiry.
+    /// </summary>
+    [Authorize]
+    [HttpPost("refresh")]
+    public async Task<ActionResult<LoginResponseDto>> Refresh()
+    {
+        if (!int.TryParse(User.FindFirstValue(ClaimTypes.NameIdentifier), out var userId))
+        {
+            return Unauthorized(new { message = "Invalid token" });
+        }
+
+        var user = await _context.Users
+            .Include(u => u.Role)
+            .FirstOrDefaultAsync(u => u.Id == userId);
+
+        if (user == null)
+        {
+            return Unauthorized(new { message = "User no longer exists" });
+        }
+
+        var token = _jwtService.GenerateToken(user, user.Role.Name);
+
+        return Ok(new LoginResponseDto
+        {
+            Token = token,
+            Login = user.Login,
+            Role = user.Role.Name
+        });
+    }
+
     [HttpPost("init-admin")]
     public async Task<ActionResult<LoginResponseDto>> InitAdmin([FromBody] InitAdminRequestDto request)
     {
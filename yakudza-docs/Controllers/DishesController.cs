@@ -1,9 +1,17 @@
+using System.Linq.Expressions;
+using System.Security.Cryptography;
+using System.Text;
+using System.Text.Json;
 using Microsoft.AspNetCore.Authorization;
 using Microsoft.AspNetCore.Mvc;
+using Microsoft.AspNetCore.WebUtilities;
 using Microsoft.EntityFrameworkCore;
+using Microsoft.Net.Http.Headers;
 using yakudza_docs.Data;
 using yakudza_docs.DTOs;
+using yakudza_docs.Formatters;
 using yakudza_docs.Models;
+using yakudza_docs.Services;
 
 namespace yakudza_docs.Controllers;
 
@@ -13,6 +21,28 @@ public class DishesController : ControllerBase
 {
     private readonly AppDbContext _context;
     private const long MaxImageSizeBytes = 10 * 1024 * 1024; // 10MB
+    private const int MaxBatchSize = 100;
+
+    // "Read the highest version, write it + 1" must not interleave between requests,
+    // otherwise two writers could share a version and a client that synced in between
+    // would skip the later commit.
+    private static readonly SemaphoreSlim WriteLock = new(1, 1);
+
+    private static readonly Expression<Func<DishTechCard, DishDetailsDto>> DetailsProjection = d => new DishDetailsDto
+    {
+        Id = d.Id,
+        Name = d.Name,
+        Description = d.Description,
+        HasImage = d.Image != null,
+        ImageHash = d.ImageHash,
+        ImagePlaceholder = d.ImagePlaceholder,
+        Ingredients = d.Ingredients.Select(i => new IngredientDto
+        {
+            Id = i.Id,
+            Name = i.Name,
+            WeightGrams = i.WeightGrams
+        }).ToList()
+    };
 
     public DishesController(AppDbContext context)
     {
@@ -38,29 +68,7 @@ public class DishesController : ControllerBase
             return BadRequest("Page size must be between 1 and 100");
         }
 
-        IQueryable<DishTechCard> query = _context.DishTechCards;
-
-        // Apply search filter
-        if (!string.IsNullOrWhiteSpace(search))
-        {
-            // For Cyrillic support, use client-side evaluation with proper culture
-            var searchLower = search.ToLower(System.Globalization.CultureInfo.InvariantCulture);
-
-            // Get all ingredients and filter client-side (handles Cyrillic properly)
-            var allIngredients = await _context.DishIngredients.ToListAsync();
-            var dishIdsWithMatchingIngredients = allIngredients
-                .Where(i => i.Name.ToLower(System.Globalization.CultureInfo.InvariantCulture).Contains(searchLower))
-                .Select(i => i.DishTechCardId)
-                .Distinct()
-                .ToList();
-
-            // For dish name/description, use server-side search (works for most Cyrillic)
-            // Combined with client-side ingredient search results
-            query = query.Where(d =>
-                d.Name.ToLower().Contains(searchLower) ||
-                d.Description.ToLower().Contains(searchLower) ||
-                dishIdsWithMatchingIngredients.Contains(d.Id));
-        }
+        var query = await ApplySearchAsync(_context.DishTechCards, search);
 
         var totalCount = await query.CountAsync();
 
@@ -73,41 +81,206 @@ public class DishesController : ControllerBase
                 Id = d.Id,
                 Name = d.Name,
                 Description = d.Description,
-                HasImage = d.Image != null
+                HasImage = d.Image != null,
+                ImageHash = d.ImageHash,
+                ImagePlaceholder = d.ImagePlaceholder
             })
             .ToListAsync();
 
-        return new PagedResultDto<DishListItemDto>
+        var result = new PagedResultDto<DishListItemDto>
         {
             Items = dishes,
             TotalCount = totalCount,
             Page = page,
             PageSize = pageSize
         };
+
+        if (IsNotModified(ComputeETag(JsonSerializer.SerializeToUtf8Bytes(result))))
+        {
+            return StatusCode(StatusCodes.Status304NotModified);
+        }
+
+        return result;
     }
 
     /// <summary>
-    /// Get dish details by ID
+    /// Get dishes ordered by name with keyset pagination; pass NextCursor back as cursor to get the following page
     /// </summary>
-    [HttpGet("{id}")]
-    public async Task<ActionResult<DishDetailsDto>> GetDish(int id)
+    [HttpGet("feed")]
+    public async Task<ActionResult<CursorPageDto<DishListItemDto>>> GetDishFeed(
+        [FromQuery] string? cursor = null,
+        [FromQuery] int pageSize = 10,
+        [FromQuery] string? search = null)
     {
-        var dish = await _context.DishTechCards
-            .Include(d => d.Ingredients)
-            .Where(d => d.Id == id)
-            .Select(d => new DishDetailsDto
+        if (pageSize < 1 || pageSize > 100)
+        {
+            return BadRequest("Page size must be between 1 and 100");
+        }
+
+        var query = await ApplySearchAsync(_context.DishTechCards, search);
+
+        if (!string.IsNullOrEmpty(cursor))
+        {
+            if (!TryDecodeCursor(cursor, out var afterName, out var afterId))
+            {
+                return BadRequest("Invalid cursor");
+            }
+
+            query = query.Where(d =>
+                string.Compare(d.Name, afterName) > 0 ||
+                (d.Name == afterName && d.Id > afterId));
+        }
+
+        // One extra row tells whether another page exists without counting
+        var dishes = await query
+            .OrderBy(d => d.Name)
+            .ThenBy(d => d.Id)
+            .Take(pageSize + 1)
+            .Select(d => new DishListItemDto
             {
                 Id = d.Id,
                 Name = d.Name,
                 Description = d.Description,
                 HasImage = d.Image != null,
-                Ingredients = d.Ingredients.Select(i => new IngredientDto
-                {
-                    Id = i.Id,
-                    Name = i.Name,
-                    WeightGrams = i.WeightGrams
-                }).ToList()
+                ImageHash = d.ImageHash,
+                ImagePlaceholder = d.ImagePlaceholder
             })
+            .ToListAsync();
+
+        string? nextCursor = null;
+        if (dishes.Count > pageSize)
+        {
+            dishes.RemoveAt(pageSize);
+            var last = dishes[^1];
+            nextCursor = EncodeCursor(last.Name, last.Id);
+        }
+
+        var result = new CursorPageDto<DishListItemDto>
+        {
+            Items = dishes,
+            NextCursor = nextCursor,
+            PageSize = pageSize
+        };
+
+        if (IsNotModified(ComputeETag(JsonSerializer.SerializeToUtf8Bytes(result))))
+        {
+            return StatusCode(StatusCodes.Status304NotModified);
+        }
+
+        return result;
+    }
+
+    /// <summary>
+    /// Get details for several dishes in one query; unknown IDs are left out of the result
+    /// </summary>
+    [HttpGet("batch")]
+    public async Task<ActionResult<List<DishDetailsDto>>> GetDishesBatch([FromQuery] int[] ids)
+    {
+        var distinctIds = ids.Distinct().ToArray();
+
+        if (distinctIds.Length == 0)
+        {
+            return BadRequest("At least one id is required");
+        }
+
+        if (distinctIds.Length > MaxBatchSize)
+        {
+            return BadRequest($"At most {MaxBatchSize} ids can be requested at once");
+        }
+
+        var dishes = await _context.DishTechCards
+            .Where(d => distinctIds.Contains(d.Id))
+            .OrderBy(d => d.Id)
+            .Select(DetailsProjection)
+            .ToListAsync();
+
+        if (IsNotModified(ComputeETag(JsonSerializer.SerializeToUtf8Bytes(dishes))))
+        {
+            return StatusCode(StatusCodes.Status304NotModified);
+        }
+
+        return dishes;
+    }
+
+    /// <summary>
+    /// Get dishes created, updated or deleted after the given sync token, oldest change first;
+    /// without a token every dish is returned as an upsert
+    /// </summary>
+    [HttpGet("changes")]
+    public async Task<ActionResult<DishChangesDto>> GetDishChanges(
+        [FromQuery] string? since = null,
+        [FromQuery] int limit = MaxBatchSize)
+    {
+        if (limit < 1 || limit > MaxBatchSize)
+        {
+            return BadRequest($"Limit must be between 1 and {MaxBatchSize}");
+        }
+
+        long sinceVersion = -1;
+        if (!string.IsNullOrEmpty(since) && !TryDecodeSyncToken(since, out sinceVersion))
+        {
+            return BadRequest("Invalid sync token");
+        }
+
+        var changedDishes = await _context.DishTechCards
+            .Where(d => d.Version > sinceVersion)
+            .OrderBy(d => d.Version)
+            .Take(limit + 1)
+            .Select(d => new { d.Id, d.Version })
+            .ToListAsync();
+
+        var tombstones = await _context.DishTombstones
+            .Where(t => t.Version > sinceVersion)
+            .OrderBy(t => t.Version)
+            .Take(limit + 1)
+            .ToListAsync();
+
+        // Merge both streams by version; the token points at the last change handed out
+        var changes = changedDishes
+            .Select(d => (Id: d.Id, d.Version, Deleted: false))
+            .Concat(tombstones.Select(t => (Id: t.DishId, t.Version, Deleted: true)))
+            .OrderBy(c => c.Version)
+            .ToList();
+
+        var hasMore = changes.Count > limit;
+        if (hasMore)
+        {
+            changes.RemoveRange(limit, changes.Count - limit);
+        }
+
+        var upsertedIds = changes.Where(c => !c.Deleted).Select(c => c.Id).ToArray();
+        var upserted = await _context.DishTechCards
+            .Where(d => upsertedIds.Contains(d.Id))
+            .OrderBy(d => d.Id)
+            .Select(DetailsProjection)
+            .ToListAsync();
+
+        var result = new DishChangesDto
+        {
+            Upserted = upserted,
+            Deleted = changes.Where(c => c.Deleted).Select(c => c.Id).ToList(),
+            SyncToken = EncodeSyncToken(changes.Count > 0 ? changes[^1].Version : Math.Max(sinceVersion, 0)),
+            HasMore = hasMore
+        };
+
+        if (IsNotModified(ComputeETag(JsonSerializer.SerializeToUtf8Bytes(result))))
+        {
+            return StatusCode(StatusCodes.Status304NotModified);
+        }
+
+        return result;
+    }
+
+    /// <summary>
+    /// Get dish details by ID
+    /// </summary>
+    [HttpGet("{id}")]
+    public async Task<ActionResult<DishDetailsDto>> GetDish(int id)
+    {
+        var dish = await _context.DishTechCards
+            .Include(d => d.Ingredients)
+            .Where(d => d.Id == id)
+            .Select(DetailsProjection)
             .FirstOrDefaultAsync();
 
         if (dish == null)
@@ -115,6 +288,11 @@ public class DishesController : ControllerBase
             return NotFound($"Dish with ID {id} not found");
         }
 
+        if (IsNotModified(ComputeETag(JsonSerializer.SerializeToUtf8Bytes(dish))))
+        {
+            return StatusCode(StatusCodes.Status304NotModified);
+        }
+
         return dish;
     }
 
@@ -126,7 +304,7 @@ public class DishesController : ControllerBase
     {
         var dish = await _context.DishTechCards
             .Where(d => d.Id == id)
-            .Select(d => new { d.Image })
+            .Select(d => new { d.Image, d.ImageHash })
             .FirstOrDefaultAsync();
 
         if (dish == null)
@@ -139,7 +317,12 @@ public class DishesController : ControllerBase
             return NotFound("Dish has no image");
         }
 
-        return File(dish.Image, "image/jpeg");
+        // File() answers If-None-Match with 304 itself once it knows the entity tag
+        Response.GetTypedHeaders().CacheControl = new CacheControlHeaderValue { NoCache = true };
+        var etag = dish.ImageHash != null
+            ? new EntityTagHeaderValue($"\"{dish.ImageHash}\"")
+            : ComputeETag(dish.Image);
+        return File(dish.Image, "image/jpeg", lastModified: null, entityTag: etag);
     }
 
     /// <summary>
@@ -177,6 +360,8 @@ public class DishesController : ControllerBase
             Name = dto.Name,
             Description = dto.Description,
             Image = imageBytes,
+            ImageHash = imageBytes != null ? DishImageHasher.Hash(imageBytes) : null,
+            ImagePlaceholder = imageBytes != null ? BlurHashEncoder.TryEncode(imageBytes) : null,
             Ingredients = dto.Ingredients.Select(i => new DishIngredient
             {
                 Name = i.Name,
@@ -184,8 +369,17 @@ public class DishesController : ControllerBase
             }).ToList()
         };
 
-        _context.DishTechCards.Add(dish);
-        await _context.SaveChangesAsync();
+        await WriteLock.WaitAsync();
+        try
+        {
+            dish.Version = await _context.NextDishVersionAsync();
+            _context.DishTechCards.Add(dish);
+            await _context.SaveChangesAsync();
+        }
+        finally
+        {
+            WriteLock.Release();
+        }
 
         var result = new DishDetailsDto
         {
@@ -193,6 +387,8 @@ public class DishesController : ControllerBase
             Name = dish.Name,
             Description = dish.Description,
             HasImage = dish.Image != null,
+            ImageHash = dish.ImageHash,
+            ImagePlaceholder = dish.ImagePlaceholder,
             Ingredients = dish.Ingredients.Select(i => new IngredientDto
             {
                 Id = i.Id,
@@ -249,6 +445,8 @@ public class DishesController : ControllerBase
         if (imageBytes != null)
         {
             dish.Image = imageBytes;
+            dish.ImageHash = DishImageHasher.Hash(imageBytes);
+            dish.ImagePlaceholder = BlurHashEncoder.TryEncode(imageBytes);
         }
 
         // Replace ingredients (remove old ones and add new ones)
@@ -260,7 +458,16 @@ public class DishesController : ControllerBase
             WeightGrams = i.WeightGrams
         }).ToList();
 
-        await _context.SaveChangesAsync();
+        await WriteLock.WaitAsync();
+        try
+        {
+            dish.Version = await _context.NextDishVersionAsync();
+            await _context.SaveChangesAsync();
+        }
+        finally
+        {
+            WriteLock.Release();
+        }
 
         var result = new DishDetailsDto
         {
@@ -268,6 +475,8 @@ public class DishesController : ControllerBase
             Name = dish.Name,
             Description = dish.Description,
             HasImage = dish.Image != null,
+            ImageHash = dish.ImageHash,
+            ImagePlaceholder = dish.ImagePlaceholder,
             Ingredients = dish.Ingredients.Select(i => new IngredientDto
             {
                 Id = i.Id,
@@ -293,9 +502,131 @@ public class DishesController : ControllerBase
             return NotFound($"Dish with ID {id} not found");
         }
 
-        _context.DishTechCards.Remove(dish);
-        await _context.SaveChangesAsync();
+        await WriteLock.WaitAsync();
+        try
+        {
+            _context.DishTechCards.Remove(dish);
+            _context.DishTombstones.Add(new DishTombstone { DishId = id, Version = await _context.NextDishVersionAsync() });
+            await _context.SaveChangesAsync();
+        }
+        finally
+        {
+            WriteLock.Release();
+        }
 
         return NoContent();
     }
+
+    private async Task<IQueryable<DishTechCard>> ApplySearchAsync(IQueryable<DishTechCard> query, string? search)
+    {
+        if (string.IsNullOrWhiteSpace(search))
+        {
+            return query;
+        }
+
+        // For Cyrillic support, use client-side evaluation with proper culture
+        var searchLower = search.ToLower(System.Globalization.CultureInfo.InvariantCulture);
+
+        // Get all ingredients and filter client-side (handles Cyrillic properly)
+        var allIngredients = await _context.DishIngredients.ToListAsync();
+        var dishIdsWithMatchingIngredients = allIngredients
+            .Where(i => i.Name.ToLower(System.Globalization.CultureInfo.InvariantCulture).Contains(searchLower))
+            .Select(i => i.DishTechCardId)
+            .Distinct()
+            .ToList();
+
+        // For dish name/description, use server-side search (works for most Cyrillic)
+        // Combined with client-side ingredient search results
+        return query.Where(d =>
+            d.Name.ToLower().Contains(searchLower) ||
+            d.Description.ToLower().Contains(searchLower) ||
+            dishIdsWithMatchingIngredients.Contains(d.Id));
+    }
+
+    /// <summary>
+    /// Cursors are the (Name, Id) of the last row served, opaque to clients
+    /// </summary>
+    private static string EncodeCursor(string name, int id)
+    {
+        return WebEncoders.Base64UrlEncode(Encoding.UTF8.GetBytes($"{id}:{name}"));
+    }
+
+    private static bool TryDecodeCursor(string cursor, out string name, out int id)
+    {
+        name = string.Empty;
+        id = 0;
+        try
+        {
+            var decoded = Encoding.UTF8.GetString(WebEncoders.Base64UrlDecode(cursor));
+            var separator = decoded.IndexOf(':');
+            if (separator <= 0 || !int.TryParse(decoded.AsSpan(0, separator), out id))
+            {
+                return false;
+            }
+
+            name = decoded[(separator + 1)..];
+            return true;
+        }
+        catch (FormatException)
+        {
+            return false;
+        }
+    }
+
+    /// <summary>
+    /// Sync tokens wrap the last change version served, opaque to clients like cursors
+    /// </summary>
+    private static string EncodeSyncToken(long version)
+    {
+        return WebEncoders.Base64UrlEncode(Encoding.UTF8.GetBytes($"v{version}"));
+    }
+
+    private static bool TryDecodeSyncToken(string token, out long version)
+    {
+        version = 0;
+        try
+        {
+            var decoded = Encoding.UTF8.GetString(WebEncoders.Base64UrlDecode(token));
+            return decoded.StartsWith('v') && long.TryParse(decoded.AsSpan(1), out version) && version >= 0;
+        }
+        catch (FormatException)
+        {
+            return false;
+        }
+    }
+
+    private bool AcceptsCbor()
+    {
+        var accept = Request.GetTypedHeaders().Accept;
+        var cbor = accept.FirstOrDefault(a => a.MediaType.Equals(CborOutputFormatter.MediaType, StringComparison.OrdinalIgnoreCase));
+        var json = accept.FirstOrDefault(a => a.MediaType.Equals("application/json", StringComparison.OrdinalIgnoreCase));
+        return cbor != null && (json == null || (cbor.Quality ?? 1) >= (json.Quality ?? 1));
+    }
+
+    private static EntityTagHeaderValue ComputeETag(byte[] content)
+    {
+        var hash = Convert.ToHexString(SHA256.HashData(content), 0, 16);
+        return new EntityTagHeaderValue($"\"{hash}\"");
+    }
+
+    /// <summary>
+    /// Emits the validators for a cacheable GET and checks them against If-None-Match
+    /// </summary>
+    private bool IsNotModified(EntityTagHeaderValue etag)
+    {
+        // JSON and CBOR bodies differ, so each representation gets its own tag
+        if (AcceptsCbor())
+        {
+            etag = new EntityTagHeaderValue($"{etag.Tag.Value![..^1]}-cbor\"");
+        }
+
+        var responseHeaders = Response.GetTypedHeaders();
+        responseHeaders.ETag = etag;
+        responseHeaders.CacheControl = new CacheControlHeaderValue { NoCache = true };
+        Response.Headers.Append(HeaderNames.Vary, HeaderNames.Accept);
+
+        var ifNoneMatch = Request.GetTypedHeaders().IfNoneMatch;
+        return ifNoneMatch.Any(candidate =>
+            candidate.Equals(EntityTagHeaderValue.Any) || candidate.Compare(etag, useStrongComparison: false));
+    }
 }
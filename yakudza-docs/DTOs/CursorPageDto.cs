@@ -0,0 +1,8 @@
+namespace yakudza_docs.DTOs;
+
+public class CursorPageDto<T>
+{
+    public List<T> Items { get; set; } = new();
+    public string? NextCursor { get; set; }
+    public int PageSize { get; set; }
+}
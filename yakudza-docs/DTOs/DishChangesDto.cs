@@ -0,0 +1,9 @@
+namespace yakudza_docs.DTOs;
+
+public class DishChangesDto
+{
+    public List<DishDetailsDto> Upserted { get; set; } = new();
+    public List<int> Deleted { get; set; } = new();
+    public string SyncToken { get; set; } = string.Empty;
+    public bool HasMore { get; set; }
+}
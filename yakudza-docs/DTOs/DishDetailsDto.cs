@@ -6,5 +6,7 @@ public class DishDetailsDto
     public string Name { get; set; } = string.Empty;
     public string Description { get; set; } = string.Empty;
     public bool HasImage { get; set; }
+    public string? ImageHash { get; set; }
+    public string? ImagePlaceholder { get; set; }
     public List<IngredientDto> Ingredients { get; set; } = new();
 }
@@ -6,4 +6,6 @@ public class DishListItemDto
     public string Name { get; set; } = string.Empty;
     public string Description { get; set; } = string.Empty;
     public bool HasImage { get; set; }
+    public string? ImageHash { get; set; }
+    public string? ImagePlaceholder { get; set; }
 }
@@ -13,6 +13,17 @@ public class AppDbContext : DbContext
     public DbSet<User> Users { get; set; }
     public DbSet<DishTechCard> DishTechCards { get; set; }
     public DbSet<DishIngredient> DishIngredients { get; set; }
+    public DbSet<DishTombstone> DishTombstones { get; set; }
+
+    /// <summary>
+    /// Next version for a dish write or tombstone; versions only ever increase
+    /// </summary>
+    public async Task<long> NextDishVersionAsync()
+    {
+        var dishVersion = await DishTechCards.MaxAsync(d => (long?)d.Version) ?? 0;
+        var tombstoneVersion = await DishTombstones.MaxAsync(t => (long?)t.Version) ?? 0;
+        return Math.Max(dishVersion, tombstoneVersion) + 1;
+    }
 
     protected override void OnModelCreating(ModelBuilder modelBuilder)
     {
@@ -47,6 +58,18 @@ public class AppDbContext : DbContext
             entity.Property(e => e.Name).IsRequired().HasMaxLength(200);
             entity.Property(e => e.Description).IsRequired().HasMaxLength(2000);
             entity.Property(e => e.Image);
+            entity.Property(e => e.ImageHash).HasMaxLength(64);
+            entity.Property(e => e.ImagePlaceholder).HasMaxLength(64);
+            entity.HasIndex(e => new { e.Name, e.Id });
+            entity.HasIndex(e => e.Version);
+        });
+
+        // Configure DishTombstone
+        modelBuilder.Entity<DishTombstone>(entity =>
+        {
+            entity.HasKey(e => e.DishId);
+            entity.Property(e => e.DishId).ValueGeneratedNever();
+            entity.HasIndex(e => e.Version);
         });
 
         // Configure DishIngredient
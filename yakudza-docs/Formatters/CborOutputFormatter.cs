@@ -0,0 +1,79 @@
+using System.Formats.Cbor;
+using System.Text.Json;
+using Microsoft.AspNetCore.Mvc.Formatters;
+
+namespace yakudza_docs.Formatters;
+
+/// <summary>
+/// Writes action results as CBOR (RFC 8949) for clients that send <c>Accept: application/cbor</c>.
+/// Values go through System.Text.Json first so property names and shapes match the JSON output exactly.
+/// </summary>
+public class CborOutputFormatter : OutputFormatter
+{
+    public const string MediaType = "application/cbor";
+
+    private static readonly JsonSerializerOptions JsonOptions = new(JsonSerializerDefaults.Web);
+
+    public CborOutputFormatter()
+    {
+        SupportedMediaTypes.Add(MediaType);
+    }
+
+    public override async Task WriteResponseBodyAsync(OutputFormatterWriteContext context)
+    {
+        var element = JsonSerializer.SerializeToElement(
+            context.Object,
+            context.ObjectType ?? context.Object?.GetType() ?? typeof(object),
+            JsonOptions);
+
+        var writer = new CborWriter();
+        Write(writer, element);
+        await context.HttpContext.Response.Body.WriteAsync(writer.Encode());
+    }
+
+    private static void Write(CborWriter writer, JsonElement element)
+    {
+        switch (element.ValueKind)
+        {
+            case JsonValueKind.Object:
+                writer.WriteStartMap(element.EnumerateObject().Count());
+                foreach (var property in element.EnumerateObject())
+                {
+                    writer.WriteTextString(property.Name);
+                    Write(writer, property.Value);
+                }
+                writer.WriteEndMap();
+                break;
+            case JsonValueKind.Array:
+                writer.WriteStartArray(element.GetArrayLength());
+                foreach (var item in element.EnumerateArray())
+                {
+                    Write(writer, item);
+                }
+                writer.WriteEndArray();
+                break;
+            case JsonValueKind.String:
+                writer.WriteTextString(element.GetString()!);
+                break;
+            case JsonValueKind.Number:
+                if (element.TryGetInt64(out var integer))
+                {
+                    writer.WriteInt64(integer);
+                }
+                else
+                {
+                    writer.WriteDouble(element.GetDouble());
+                }
+                break;
+            case JsonValueKind.True:
+                writer.WriteBoolean(true);
+                break;
+            case JsonValueKind.False:
+                writer.WriteBoolean(false);
+                break;
+            default:
+                writer.WriteNull();
+                break;
+        }
+    }
+}
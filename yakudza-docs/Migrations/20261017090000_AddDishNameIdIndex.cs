@@ -0,0 +1,27 @@
+﻿using Microsoft.EntityFrameworkCore.Migrations;
+
+#nullable disable
+
+namespace yakudza_docs.Migrations
+{
+    /// <inheritdoc />
+    public partial class AddDishNameIdIndex : Migration
+    {
+        /// <inheritdoc />
+        protected override void Up(MigrationBuilder migrationBuilder)
+        {
+            migrationBuilder.CreateIndex(
+                name: "IX_DishTechCards_Name_Id",
+                table: "DishTechCards",
+                columns: new[] { "Name", "Id" });
+        }
+
+        /// <inheritdoc />
+        protected override void Down(MigrationBuilder migrationBuilder)
+        {
+            migrationBuilder.DropIndex(
+                name: "IX_DishTechCards_Name_Id",
+                table: "DishTechCards");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+﻿using Microsoft.EntityFrameworkCore.Migrations;
+
+#nullable disable
+
+namespace yakudza_docs.Migrations
+{
+    /// <inheritdoc />
+    public partial class AddDishChangeTracking : Migration
+    {
+        /// <inheritdoc />
+        protected override void Up(MigrationBuilder migrationBuilder)
+        {
+            migrationBuilder.AddColumn<long>(
+                name: "Version",
+                table: "DishTechCards",
+                type: "INTEGER",
+                nullable: false,
+                defaultValue: 0L);
+
+            migrationBuilder.CreateTable(
+                name: "DishTombstones",
+                columns: table => new
+                {
+                    DishId = table.Column<int>(type: "INTEGER", nullable: false),
+                    Version = table.Column<long>(type: "INTEGER", nullable: false)
+                },
+                constraints: table =>
+                {
+                    table.PrimaryKey("PK_DishTombstones", x => x.DishId);
+                });
+
+            migrationBuilder.CreateIndex(
+                name: "IX_DishTechCards_Version",
+                table: "DishTechCards",
+                column: "Version");
+
+            migrationBuilder.CreateIndex(
+                name: "IX_DishTombstones_Version",
+                table: "DishTombstones",
+                column: "Version");
+        }
+
+        /// <inheritdoc />
+        protected override void Down(MigrationBuilder migrationBuilder)
+        {
+            migrationBuilder.DropTable(
+                name: "DishTombstones");
+
+            migrationBuilder.DropIndex(
+                name: "IX_DishTechCards_Version",
+                table: "DishTechCards");
+
+            migrationBuilder.DropColumn(
+                name: "Version",
+                table: "DishTechCards");
+        }
+    }
+}
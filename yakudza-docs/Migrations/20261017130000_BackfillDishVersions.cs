@@ -0,0 +1,33 @@
+﻿using Microsoft.EntityFrameworkCore.Migrations;
+
+#nullable disable
+
+namespace yakudza_docs.Migrations
+{
+    /// <inheritdoc />
+    public partial class BackfillDishVersions : Migration
+    {
+        /// <inheritdoc />
+        protected override void Up(MigrationBuilder migrationBuilder)
+        {
+            // AddDishChangeTracking left every pre-existing dish at Version 0, and the change
+            // feed pages by version alone, so those dishes could not be paged past. Give each
+            // of them a distinct version above every version handed out so far; clients that
+            // synced a truncated catalog receive the missing dishes on their next sync.
+            migrationBuilder.Sql(
+                """
+                UPDATE DishTechCards
+                SET Version = Id + (
+                    SELECT MAX(
+                        COALESCE((SELECT MAX(Version) FROM DishTechCards), 0),
+                        COALESCE((SELECT MAX(Version) FROM DishTombstones), 0)))
+                WHERE Version = 0;
+                """);
+        }
+
+        /// <inheritdoc />
+        protected override void Down(MigrationBuilder migrationBuilder)
+        {
+        }
+    }
+}
@@ -162,13 +162,28 @@ namespace yakudza_docs.Migrations
                     b.Property<byte[]>("Image")
                         .HasColumnType("BLOB");
 
+                    b.Property<string>("ImageHash")
+                        .HasMaxLength(64)
+                        .HasColumnType("TEXT");
+
+                    b.Property<string>("ImagePlaceholder")
+                        .HasMaxLength(64)
+                        .HasColumnType("TEXT");
+
                     b.Property<string>("Name")
                         .IsRequired()
                         .HasMaxLength(200)
                         .HasColumnType("TEXT");
 
+                    b.Property<long>("Version")
+                        .HasColumnType("INTEGER");
+
                     b.HasKey("Id");
 
+                    b.HasIndex("Version");
+
+                    b.HasIndex("Name", "Id");
+
                     b.ToTable("DishTechCards");
 
                     b.HasData(
@@ -176,16 +191,33 @@ namespace yakudza_docs.Migrations
                         {
                             Id = 1,
                             Description = "Классический украинский борщ с говядиной и сметаной",
-                            Name = "Борщ"
+                            Name = "Борщ",
+                            Version = 0L
                         },
                         new
                         {
                             Id = 2,
                             Description = "Традиционный салат Оливье с курицей и майонезом",
-                            Name = "Оливье"
+                            Name = "Оливье",
+                            Version = 0L
                         });
                 });
 
+            modelBuilder.Entity("yakudza_docs.Models.DishTombstone", b =>
+                {
+                    b.Property<int>("DishId")
+                        .HasColumnType("INTEGER");
+
+                    b.Property<long>("Version")
+                        .HasColumnType("INTEGER");
+
+                    b.HasKey("DishId");
+
+                    b.HasIndex("Version");
+
+                    b.ToTable("DishTombstones");
+                });
+
             modelBuilder.Entity("yakudza_docs.Models.Role", b =>
                 {
                     b.Property<int>("Id")
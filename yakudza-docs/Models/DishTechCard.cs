@@ -6,6 +6,9 @@ public class DishTechCard
     public string Name { get; set; } = string.Empty;
     public string Description { get; set; } = string.Empty;
     public byte[]? Image { get; set; }
+    public string? ImageHash { get; set; }
+    public string? ImagePlaceholder { get; set; }
+    public long Version { get; set; }
 
     public ICollection<DishIngredient> Ingredients { get; set; } = new List<DishIngredient>();
 }
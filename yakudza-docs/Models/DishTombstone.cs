@@ -0,0 +1,7 @@
+namespace yakudza_docs.Models;
+
+public class DishTombstone
+{
+    public int DishId { get; set; }
+    public long Version { get; set; }
+}
@@ -4,12 +4,14 @@ using System.Linq;
 using System.Text;
 using Microsoft.AspNetCore.Authentication.JwtBearer;
 using Microsoft.AspNetCore.Builder;
+using Microsoft.AspNetCore.Http;
 using Microsoft.EntityFrameworkCore;
 using Microsoft.Extensions.DependencyInjection;
 using Microsoft.Extensions.FileProviders;
 using Microsoft.Extensions.Hosting;
 using Microsoft.IdentityModel.Tokens;
 using yakudza_docs.Data;
+using yakudza_docs.Formatters;
 using yakudza_docs.Services;
 
 var builder = WebApplication.CreateBuilder(args);
@@ -65,7 +67,11 @@ builder.Services.AddAuthentication(options =>
 
 builder.Services.AddAuthorization();
 
-builder.Services.AddControllers();
+builder.Services.AddControllers(options =>
+{
+    // JSON stays first, so it remains the default when Accept does not ask for CBOR
+    options.OutputFormatters.Add(new CborOutputFormatter());
+});
 
 // Learn more about configuring OpenAPI at https://aka.ms/aspnet/openapi
 builder.Services.AddOpenApi();
@@ -76,7 +82,9 @@ var app = builder.Build();
 using (var scope = app.Services.CreateScope())
 {
     var context = scope.ServiceProvider.GetRequiredService<AppDbContext>();
-    context.Database.Migrate();
+    await context.Database.MigrateAsync();
+
+    await DishImageBackfill.RunAsync(context);
 }
 
 // Configure the HTTP request pipeline.
@@ -94,6 +102,9 @@ app.UseAuthorization();
 
 app.MapControllers();
 
+// Cheap round trip that lets clients open and keep a connection before real traffic
+app.MapMethods("/api/ping", new[] { HttpMethods.Get, HttpMethods.Head }, () => Results.NoContent());
+
 var summaries = new[]
 {
     "Freezing", "Bracing", "Chilly", "Cool", "Mild", "Warm", "Balmy", "Hot", "Sweltering", "Scorching"
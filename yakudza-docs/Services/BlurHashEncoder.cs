@@ -0,0 +1,156 @@
+using System.Text;
+using SixLabors.ImageSharp;
+using SixLabors.ImageSharp.Formats;
+using SixLabors.ImageSharp.Memory;
+using SixLabors.ImageSharp.PixelFormats;
+using SixLabors.ImageSharp.Processing;
+
+namespace yakudza_docs.Services;
+
+/// <summary>
+/// Encodes dish images as BlurHash strings (https://blurha.sh): about 30 characters that clients
+/// decode into a blurred preview while the real image loads
+/// </summary>
+public static class BlurHashEncoder
+{
+    private const int ComponentsX = 4;
+    private const int ComponentsY = 3;
+
+    // The hash only keeps a few low-frequency components, so a small copy of the image is enough
+    private const int SampleSize = 32;
+
+    private const string Characters = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+
+    /// <summary>
+    /// Returns null when the bytes cannot be decoded as an image, so a bad upload never fails the
+    /// request or the startup backfill
+    /// </summary>
+    public static string? TryEncode(byte[] image)
+    {
+        // Decoders that support it (JPEG among them) scale while decoding, so full-size
+        // pixels are never materialised just to build a 32px sample
+        var options = new DecoderOptions { TargetSize = new Size(SampleSize, SampleSize) };
+        try
+        {
+            using var decoded = Image.Load<Rgb24>(options, image);
+            decoded.Mutate(x => x.Resize(new ResizeOptions
+            {
+                Size = new Size(SampleSize, SampleSize),
+                Mode = ResizeMode.Max
+            }));
+            return Encode(decoded);
+        }
+        catch (Exception e) when (e is ImageFormatException or InvalidMemoryOperationException)
+        {
+            return null;
+        }
+    }
+
+    private static string Encode(Image<Rgb24> image)
+    {
+        var width = image.Width;
+        var height = image.Height;
+        var linear = new float[width * height * 3];
+        image.ProcessPixelRows(accessor =>
+        {
+            for (var y = 0; y < height; y++)
+            {
+                var row = accessor.GetRowSpan(y);
+                for (var x = 0; x < width; x++)
+                {
+                    var offset = (y * width + x) * 3;
+                    linear[offset] = SrgbToLinear(row[x].R);
+                    linear[offset + 1] = SrgbToLinear(row[x].G);
+                    linear[offset + 2] = SrgbToLinear(row[x].B);
+                }
+            }
+        });
+
+        var factors = new float[ComponentsX * ComponentsY, 3];
+        for (var j = 0; j < ComponentsY; j++)
+        {
+            for (var i = 0; i < ComponentsX; i++)
+            {
+                var normalisation = i == 0 && j == 0 ? 1f : 2f;
+                float r = 0, g = 0, b = 0;
+                for (var y = 0; y < height; y++)
+                {
+                    var basisY = MathF.Cos(MathF.PI * j * y / height);
+                    for (var x = 0; x < width; x++)
+                    {
+                        var basis = normalisation * MathF.Cos(MathF.PI * i * x / width) * basisY;
+                        var offset = (y * width + x) * 3;
+                        r += basis * linear[offset];
+                        g += basis * linear[offset + 1];
+                        b += basis * linear[offset + 2];
+                    }
+                }
+
+                var scale = 1f / (width * height);
+                var index = j * ComponentsX + i;
+                factors[index, 0] = r * scale;
+                factors[index, 1] = g * scale;
+                factors[index, 2] = b * scale;
+            }
+        }
+
+        var hash = new StringBuilder();
+        Encode83(hash, (ComponentsX - 1) + (ComponentsY - 1) * 9, 1);
+
+        var maximum = 0f;
+        for (var index = 1; index < ComponentsX * ComponentsY; index++)
+        {
+            for (var channel = 0; channel < 3; channel++)
+            {
+                maximum = MathF.Max(maximum, MathF.Abs(factors[index, channel]));
+            }
+        }
+
+        var quantisedMaximum = Math.Clamp((int)MathF.Floor(maximum * 166 - 0.5f), 0, 82);
+        var maximumValue = (quantisedMaximum + 1) / 166f;
+        Encode83(hash, quantisedMaximum, 1);
+
+        var dc = (LinearToSrgb(factors[0, 0]) << 16) + (LinearToSrgb(factors[0, 1]) << 8) + LinearToSrgb(factors[0, 2]);
+        Encode83(hash, dc, 4);
+
+        for (var index = 1; index < ComponentsX * ComponentsY; index++)
+        {
+            var quantR = QuantiseAc(factors[index, 0], maximumValue);
+            var quantG = QuantiseAc(factors[index, 1], maximumValue);
+            var quantB = QuantiseAc(factors[index, 2], maximumValue);
+            Encode83(hash, quantR * 19 * 19 + quantG * 19 + quantB, 2);
+        }
+
+        return hash.ToString();
+    }
+
+    private static int QuantiseAc(float value, float maximumValue)
+    {
+        var normalised = value / maximumValue;
+        var signPow = MathF.CopySign(MathF.Sqrt(MathF.Abs(normalised)), normalised);
+        return Math.Clamp((int)MathF.Floor(signPow * 9 + 9.5f), 0, 18);
+    }
+
+    private static void Encode83(StringBuilder hash, int value, int length)
+    {
+        for (var i = 1; i <= length; i++)
+        {
+            var digit = value / (int)Math.Pow(83, length - i) % 83;
+            hash.Append(Characters[digit]);
+        }
+    }
+
+    private static float SrgbToLinear(byte value)
+    {
+        var v = value / 255f;
+        return v <= 0.04045f ? v / 12.92f : MathF.Pow((v + 0.055f) / 1.055f, 2.4f);
+    }
+
+    private static int LinearToSrgb(float value)
+    {
+        var v = Math.Clamp(value, 0f, 1f);
+        return v <= 0.0031308f
+            ? (int)(v * 12.92f * 255 + 0.5f)
+            : (int)((1.055f * MathF.Pow(v, 1 / 2.4f) - 0.055f) * 255 + 0.5f);
+    }
+}
@@ -0,0 +1,36 @@
+using System.Linq;
+using System.Threading.Tasks;
+using Microsoft.EntityFrameworkCore;
+using yakudza_docs.Data;
+
+namespace yakudza_docs.Services;
+
+/// <summary>
+/// Computes ImageHash and ImagePlaceholder once for images stored before those columns existed;
+/// the version bump delivers them to clients through the change feed
+/// </summary>
+public static class DishImageBackfill
+{
+    public static async Task RunAsync(AppDbContext context)
+    {
+        var unhashedIds = await context.DishTechCards
+            .Where(d => d.Image != null && (d.ImageHash == null || d.ImagePlaceholder == null))
+            .Select(d => d.Id)
+            .ToListAsync();
+        foreach (var id in unhashedIds)
+        {
+            var dish = await context.DishTechCards.SingleAsync(d => d.Id == id);
+            var hash = DishImageHasher.Hash(dish.Image!);
+            // Undecodable images never get a placeholder; only bump the version when something changed
+            var placeholder = dish.ImagePlaceholder ?? BlurHashEncoder.TryEncode(dish.Image!);
+            if (hash != dish.ImageHash || placeholder != dish.ImagePlaceholder)
+            {
+                dish.ImageHash = hash;
+                dish.ImagePlaceholder = placeholder;
+                dish.Version = await context.NextDishVersionAsync();
+                await context.SaveChangesAsync();
+            }
+            context.Entry(dish).State = EntityState.Detached;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+using System.Security.Cryptography;
+
+namespace yakudza_docs.Services;
+
+/// <summary>
+/// Names each stored dish image by its content, so clients can cache an image per version
+/// and pick up edits without revalidating
+/// </summary>
+public static class DishImageHasher
+{
+    public static string Hash(byte[] image)
+    {
+        return Convert.ToHexString(SHA256.HashData(image)).ToLowerInvariant();
+    }
+}